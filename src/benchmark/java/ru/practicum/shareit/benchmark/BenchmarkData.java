@@ -0,0 +1,129 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentWithCountView;
+import ru.practicum.shareit.item.dto.ItemDtoForRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Детерминированные наборы сущностей для бенчмарков: одни и те же данные при каждом запуске
+public class BenchmarkData {
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final String[] WORDS = {"дрель", "перфоратор", "пила", "лестница", "палатка", "велосипед",
+            "шуруповерт", "отвертка", "молоток", "тачка"};
+
+    public static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++)
+            users.add(new User(i, "user" + i, "user" + i + "@email"));
+        return users;
+    }
+
+    public static List<Item> items(int count) {
+        List<User> owners = users(Math.max(1, count / 10));
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String word = WORDS[i % WORDS.length];
+            String secondWord = WORDS[(i * 7 + 3) % WORDS.length];
+            items.add(new Item((long) i + 1, word + " " + (i + 1), "Удобная " + word + ", в комплекте " + secondWord,
+                    i % 5 != 0, null, owners.get(i % owners.size())));
+        }
+        return items;
+    }
+
+    public static List<Booking> bookings(int count) {
+        List<Item> items = items(Math.max(1, count / 4));
+        List<User> bookers = users(Math.max(1, count / 10));
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            bookings.add(new Booking((long) i + 1, START.plusHours(i), START.plusHours(i + 2),
+                    items.get(i % items.size()), bookers.get(i % bookers.size()), statuses[i % statuses.length]));
+        return bookings;
+    }
+
+    public static List<Request> requests(int count) {
+        List<User> requestors = users(Math.max(1, count / 10));
+        List<Request> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            requests.add(new Request((long) i + 1, "Нужна " + WORDS[i % WORDS.length],
+                    requestors.get(i % requestors.size()), Collections.emptyList(), START.plusMinutes(i)));
+        return requests;
+    }
+
+    public static List<ItemDtoForRequest> requestItems(long requestId, int count) {
+        List<ItemDtoForRequest> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            items.add(new ItemDtoForRequest(requestId * 100 + i, WORDS[i % WORDS.length], "description", true,
+                    requestId));
+        return items;
+    }
+
+    // отзывы в том виде, в каком их возвращает CommentRepository.findLatestViewsByItemIdIn:
+    // по commentsPerItem отзывов на вещь, упорядоченных по id вещи
+    public static List<CommentWithCountView> commentViews(int itemCount, int commentsPerItem) {
+        List<CommentWithCountView> comments = new ArrayList<>(itemCount * commentsPerItem);
+        long id = 1;
+        for (long itemId = 1; itemId <= itemCount; itemId++)
+            for (int i = 0; i < commentsPerItem; i++)
+                comments.add(new CommentRow(itemId, id++, "comment " + id, "author" + i, START.plusMinutes(id),
+                        (long) commentsPerItem));
+        return comments;
+    }
+
+    private static class CommentRow implements CommentWithCountView {
+        private final Long itemId;
+        private final Long id;
+        private final String text;
+        private final String authorName;
+        private final LocalDateTime created;
+        private final Long commentsCount;
+
+        private CommentRow(Long itemId, Long id, String text, String authorName, LocalDateTime created,
+                           Long commentsCount) {
+            this.itemId = itemId;
+            this.id = id;
+            this.text = text;
+            this.authorName = authorName;
+            this.created = created;
+            this.commentsCount = commentsCount;
+        }
+
+        @Override
+        public Long getItemId() {
+            return itemId;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String getAuthorName() {
+            return authorName;
+        }
+
+        @Override
+        public LocalDateTime getCreated() {
+            return created;
+        }
+
+        @Override
+        public Long getCommentsCount() {
+            return commentsCount;
+        }
+    }
+}
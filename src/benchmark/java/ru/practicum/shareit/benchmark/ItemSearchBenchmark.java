@@ -0,0 +1,41 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Поиск доступных вещей по индексу в памяти (ItemService.searchItems в режиме shareit.search.mode=index).
+// Индекс заполняется событиями изменения вещей, поэтому репозиторий не нужен.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    @Param({"1000", "10000"})
+    private int itemCount;
+
+    // частое слово, редкая подстрока и запрос короче триграммы
+    @Param({"дрель", "ерфорат", "ил"})
+    private String text;
+
+    private ItemSearchIndex itemSearchIndex;
+
+    @Setup
+    public void setUp() {
+        itemSearchIndex = new ItemSearchIndex(null);
+        for (Item item : BenchmarkData.items(itemCount))
+            itemSearchIndex.onItemChanged(ItemChangedEvent.of(null, item));
+    }
+
+    @Benchmark
+    public List<Long> searchFirstPage() {
+        return itemSearchIndex.searchIds(text, 0, 20);
+    }
+}
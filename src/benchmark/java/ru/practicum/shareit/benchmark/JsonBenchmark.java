@@ -0,0 +1,58 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Сериализация ответов со списками вещей и бронирований тем же ObjectMapper, что строит Spring Boot
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ItemDto> items;
+    private List<ResponseBookingDto> bookings;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        items = BenchmarkData.items(size)
+                .stream()
+                .map(item -> ItemMapper.toItemWithoutBookingsDto(item, Collections.emptyList(), 0L))
+                .collect(Collectors.toList());
+        bookings = BenchmarkData.bookings(size)
+                .stream()
+                .map(BookingMapper::toResponseBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializeItems() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] serializeBookings() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+}
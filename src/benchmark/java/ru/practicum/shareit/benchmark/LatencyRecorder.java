@@ -0,0 +1,37 @@
+package ru.practicum.shareit.benchmark;
+
+import java.util.Arrays;
+
+// Задержки ответов одного эндпоинта за прогон. Процентили считаются по всем замерам (nearest-rank),
+// без гистограмм, поэтому память растет линейно с числом запросов.
+public class LatencyRecorder {
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    public synchronized void record(long latencyNanos, boolean success) {
+        if (count == latencies.length)
+            latencies = Arrays.copyOf(latencies, count * 2);
+        latencies[count++] = latencyNanos;
+        if (!success)
+            errors++;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized int getErrors() {
+        return errors;
+    }
+
+    // процентиль в миллисекундах, percentile - от 0 до 100
+    public synchronized double percentileMillis(double percentile) {
+        if (count == 0)
+            return 0;
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+}
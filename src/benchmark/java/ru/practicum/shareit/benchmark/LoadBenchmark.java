@@ -0,0 +1,339 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.HeaderNames;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.item.ItemSearchIndex;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Нагрузочный бенчмарк всех эндпоинтов приложения:
+// mvn -P benchmark -DskipTests test-compile exec:java@load-benchmark [-Dload.users=...]
+//
+// Поднимает ShareItApp на случайном порту с БД H2 (load.db=mem - в памяти, file - ./db/shareit-load),
+// заполняет ее LoadDataset, после прогрева нагружает каждый эндпоинт с постоянной частотой load.rate запросов
+// в секунду (открытая модель: следующий запрос отправляется по расписанию, не дожидаясь ответа на предыдущий)
+// и записывает p50/p95/p99 задержки и пропускную способность по эндпоинтам в load.report.
+@Slf4j
+public class LoadBenchmark {
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\":(\\d+)");
+    private static final String FILE_DATABASE = "./db/shareit-load";
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final LoadDataset dataset;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private final AtomicLong uniqueSuffix = new AtomicLong();
+    private final Queue<Long> createdUserIds = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> waitingBookingIds;
+    private final long seed;
+    // эндпоинты создаются один раз: прогрев и измерение продолжают одни и те же последовательности запросов
+    private final List<Endpoint> endpoints;
+    private String baseUrl;
+
+    public LoadBenchmark(LoadDataset dataset, long seed) {
+        this.dataset = dataset;
+        this.seed = seed;
+        this.waitingBookingIds = new ConcurrentLinkedQueue<>(dataset.getWaitingBookingIds());
+        this.endpoints = endpoints();
+    }
+
+    public static void main(String[] args) throws Exception {
+        long seed = Long.getLong("load.seed", 42L);
+        LoadDataset dataset = new LoadDataset(
+                Integer.getInteger("load.users", 10_000),
+                Integer.getInteger("load.items", 50_000),
+                Integer.getInteger("load.bookings", 200_000),
+                Integer.getInteger("load.comments", 100_000),
+                Integer.getInteger("load.requests", 20_000),
+                seed);
+        String databaseUrl = "jdbc:h2:mem:shareit-load;DB_CLOSE_DELAY=-1";
+        if ("file".equals(System.getProperty("load.db", "mem"))) {
+            // миграции не удаляют данные, а LoadDataset вставляет строки с id от 1, поэтому файл БД
+            // предыдущего прогона удаляется, и каждый прогон начинается с пустой схемы
+            Files.deleteIfExists(Path.of(FILE_DATABASE + ".mv.db"));
+            Files.deleteIfExists(Path.of(FILE_DATABASE + ".trace.db"));
+            databaseUrl = "jdbc:h2:file:" + FILE_DATABASE;
+        }
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(ShareItApp.class,
+                "--server.port=0",
+                "--spring.datasource.url=" + databaseUrl,
+                "--spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor}",
+                "--logging.level.root=WARN",
+                "--logging.level.ru.practicum.shareit.benchmark=INFO",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN")) {
+            long seedStart = System.nanoTime();
+            dataset.generate(context.getBean(JdbcTemplate.class));
+            // индекс поиска строится при старте, когда БД еще пуста
+            context.getBeanProvider(ItemSearchIndex.class).ifAvailable(ItemSearchIndex::rebuild);
+            log.info("Данные сгенерированы за {} с", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seedStart));
+
+            LoadBenchmark benchmark = new LoadBenchmark(dataset, seed);
+            benchmark.baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            int rate = Integer.getInteger("load.rate", 20);
+            benchmark.run(rate, Integer.getInteger("load.warmup", 10));
+            benchmark.recorders.clear();
+            int duration = Integer.getInteger("load.duration", 60);
+            benchmark.run(rate, duration);
+            benchmark.writeReport(Path.of(System.getProperty("load.report", "target/load-report.csv")), rate,
+                    duration);
+        }
+    }
+
+    // каждый эндпоинт получает rate запросов в секунду в течение seconds секунд
+    private void run(int rate, int seconds) throws InterruptedException {
+        endpoints.forEach(endpoint -> recorders.put(endpoint.name, new LatencyRecorder()));
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+        AtomicInteger inFlight = new AtomicInteger();
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        List<ScheduledFuture<?>> schedules = new ArrayList<>();
+        for (int i = 0; i < endpoints.size(); i++) {
+            Endpoint endpoint = endpoints.get(i);
+            // запуски эндпоинтов равномерно разнесены внутри периода
+            long offset = periodNanos * i / endpoints.size();
+            schedules.add(scheduler.scheduleAtFixedRate(() -> send(endpoint, inFlight), offset, periodNanos,
+                    TimeUnit.NANOSECONDS));
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        schedules.forEach(schedule -> schedule.cancel(false));
+        scheduler.shutdown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline)
+            Thread.sleep(10);
+    }
+
+    private void send(Endpoint endpoint, AtomicInteger inFlight) {
+        HttpRequest request = endpoint.request.apply(endpoint.random);
+        if (request == null)
+            return;
+        LatencyRecorder recorder = recorders.get(endpoint.name);
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - start;
+                    boolean success = error == null && response.statusCode() < 400;
+                    recorder.record(latency, success);
+                    if (success && endpoint.onResponse != null)
+                        endpoint.onResponse.accept(response.body());
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private void writeReport(Path path, int rate, int duration) throws IOException {
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            writer.printf("# users=%d items=%d bookings=%d requests=%d rate=%d/s duration=%ds%n",
+                    dataset.getUserCount(), dataset.getItemCount(), dataset.getBookingCount(),
+                    dataset.getRequestCount(), rate, duration);
+            writer.println("endpoint,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms");
+            recorders.forEach((name, recorder) -> writer.printf(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f%n",
+                    name, recorder.getCount(), recorder.getErrors(), (double) recorder.getCount() / duration,
+                    recorder.percentileMillis(50), recorder.percentileMillis(95), recorder.percentileMillis(99)));
+        }
+        log.info("Отчет записан в {}:\n{}", path.toAbsolutePath(), String.join("\n", Files.readAllLines(path)));
+    }
+
+    private List<Endpoint> endpoints() {
+        List<Endpoint> endpoints = new ArrayList<>();
+
+        endpoints.add(new Endpoint("GET /users", random -> get("/users", null)));
+        endpoints.add(new Endpoint("GET /users?afterId", random -> get("/users?afterId=" + randomUser(random) +
+                "&size=20", null)));
+        endpoints.add(new Endpoint("GET /users/export", random -> get("/users/export", null)));
+        endpoints.add(new Endpoint("GET /users/{id}", random -> get("/users/" + randomUser(random), null)));
+        endpoints.add(new Endpoint("POST /users", random -> post("/users", null, "application/json",
+                userJson(uniqueSuffix.incrementAndGet())), this::rememberCreatedUser));
+        endpoints.add(new Endpoint("POST /users/bulk", random -> {
+            StringBuilder body = new StringBuilder();
+            for (int i = 0; i < 10; i++)
+                body.append(userJson(uniqueSuffix.incrementAndGet())).append('\n');
+            return post("/users/bulk", null, "application/x-ndjson", body.toString());
+        }));
+        endpoints.add(new Endpoint("PATCH /users/{id}", random -> patch("/users/" + randomUser(random), null,
+                "{\"name\":\"renamed " + random.nextInt(1000) + "\"}")));
+        endpoints.add(new Endpoint("DELETE /users/{id}", random -> {
+            Long userId = createdUserIds.poll();
+            return userId == null ? null : request("/users/" + userId, null).DELETE().build();
+        }));
+
+        endpoints.add(new Endpoint("GET /items", random -> {
+            long itemId = randomItem(random);
+            return get("/items?from=0&size=20", dataset.getItemOwner(itemId));
+        }));
+        endpoints.add(new Endpoint("GET /items/{id}", random -> {
+            long itemId = randomItem(random);
+            return get("/items/" + itemId, dataset.getItemOwner(itemId));
+        }));
+        endpoints.add(new Endpoint("GET /items/search", random -> get("/items/search?text=" +
+                URLEncoder.encode(LoadDataset.word(random), StandardCharsets.UTF_8) + "&from=0&size=20", null)));
+        endpoints.add(new Endpoint("GET /items/{id}/comments", random -> get("/items/" + randomItem(random) +
+                "/comments?size=20", null)));
+        endpoints.add(new Endpoint("POST /items", random -> post("/items", randomUser(random), "application/json",
+                "{\"name\":\"вещь\",\"description\":\"новая вещь\",\"available\":true}")));
+        endpoints.add(new Endpoint("PATCH /items/{id}", random -> {
+            long itemId = randomItem(random);
+            return patch("/items/" + itemId, dataset.getItemOwner(itemId),
+                    "{\"description\":\"обновленное описание " + random.nextInt(1000) + "\"}");
+        }));
+        endpoints.add(new Endpoint("POST /items/{id}/comment", random -> {
+            List<Long> pastBookings = dataset.getPastBookingIds();
+            if (pastBookings.isEmpty())
+                return null;
+            long bookingId = pastBookings.get(random.nextInt(pastBookings.size()));
+            return post("/items/" + dataset.getBookingItem(bookingId) + "/comment",
+                    dataset.getBookingBooker(bookingId), "application/json", "{\"text\":\"Отличная вещь\"}");
+        }));
+
+        endpoints.add(new Endpoint("GET /bookings/{id}", random -> {
+            long bookingId = 1L + random.nextInt(dataset.getBookingCount());
+            return get("/bookings/" + bookingId, dataset.getBookingBooker(bookingId));
+        }));
+        endpoints.add(new Endpoint("GET /bookings", random -> get("/bookings?state=" + randomState(random) +
+                "&from=0&size=20", randomUser(random))));
+        endpoints.add(new Endpoint("GET /bookings?cursor", random -> get("/bookings?state=" + randomState(random) +
+                "&cursor=&size=20", randomUser(random))));
+        endpoints.add(new Endpoint("GET /bookings/owner", random -> get("/bookings/owner?state=" + randomState(random) +
+                "&from=0&size=20", dataset.getItemOwner(randomItem(random)))));
+        endpoints.add(new Endpoint("GET /bookings/owner?cursor", random -> get("/bookings/owner?state=" +
+                randomState(random) + "&cursor=&size=20", dataset.getItemOwner(randomItem(random)))));
+        endpoints.add(new Endpoint("POST /bookings", random -> {
+            long itemId = randomItem(random);
+            for (int attempt = 0; attempt < 10 && !dataset.isItemAvailable(itemId); attempt++)
+                itemId = randomItem(random);
+            LocalDateTime start = LocalDateTime.now().plusDays(1 + random.nextInt(60));
+            return post("/bookings", randomUserExcept(random, dataset.getItemOwner(itemId)), "application/json",
+                    "{\"itemId\":" + itemId + ",\"start\":\"" + start + "\",\"end\":\"" + start.plusDays(3) + "\"}");
+        }));
+        endpoints.add(new Endpoint("PATCH /bookings/{id}", random -> {
+            Long bookingId = waitingBookingIds.poll();
+            if (bookingId == null)
+                return null;
+            return request("/bookings/" + bookingId + "?approved=" + random.nextBoolean(),
+                    dataset.getItemOwner(dataset.getBookingItem(bookingId)))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+        }));
+        endpoints.add(new Endpoint("PATCH /bookings/batch", random -> {
+            Long bookingId = waitingBookingIds.poll();
+            if (bookingId == null)
+                return null;
+            return patch("/bookings/batch", dataset.getItemOwner(dataset.getBookingItem(bookingId)),
+                    "[{\"bookingId\":" + bookingId + ",\"approved\":true}]");
+        }));
+
+        endpoints.add(new Endpoint("GET /requests", random -> get("/requests", randomUser(random))));
+        endpoints.add(new Endpoint("GET /requests/all", random -> get("/requests/all?from=0&size=20",
+                randomUser(random))));
+        endpoints.add(new Endpoint("GET /requests/all?cursor", random -> get("/requests/all?cursor=&size=20",
+                randomUser(random))));
+        endpoints.add(new Endpoint("GET /requests/{id}", random -> get("/requests/" +
+                (1 + random.nextInt(Math.max(dataset.getRequestCount(), 1))), randomUser(random))));
+        endpoints.add(new Endpoint("POST /requests", random -> post("/requests", randomUser(random), "application/json",
+                "{\"description\":\"Нужна " + LoadDataset.word(random) + "\"}")));
+        return endpoints;
+    }
+
+    private void rememberCreatedUser(String body) {
+        Matcher matcher = ID_PATTERN.matcher(body);
+        if (matcher.find())
+            createdUserIds.add(Long.parseLong(matcher.group(1)));
+    }
+
+    private HttpRequest get(String path, Long userId) {
+        return request(path, userId).GET().build();
+    }
+
+    private HttpRequest post(String path, Long userId, String contentType, String body) {
+        return request(path, userId)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest patch(String path, Long userId, String body) {
+        return request(path, userId)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (userId != null)
+            builder.header(HeaderNames.USER_ID_HEADER, String.valueOf(userId));
+        return builder;
+    }
+
+    private static String userJson(long suffix) {
+        return "{\"name\":\"load user " + suffix + "\",\"email\":\"load" + suffix + "@load.test\"}";
+    }
+
+    private long randomUser(Random random) {
+        return 1L + random.nextInt(dataset.getUserCount());
+    }
+
+    private long randomUserExcept(Random random, long userId) {
+        long result = randomUser(random);
+        while (result == userId && dataset.getUserCount() > 1)
+            result = randomUser(random);
+        return result;
+    }
+
+    private long randomItem(Random random) {
+        return 1L + random.nextInt(dataset.getItemCount());
+    }
+
+    private static String randomState(Random random) {
+        return STATES[random.nextInt(STATES.length)];
+    }
+
+    private class Endpoint {
+        private final String name;
+        // генератор параметров запросов эндпоинта создается из load.seed, поэтому при одинаковом seed
+        // последовательность запросов повторяется; запуски одного эндпоинта по расписанию не пересекаются
+        private final Random random;
+        // null - запрос в этот раз не отправляется (например, закончились бронирования, ожидающие ответа)
+        private final Function<Random, HttpRequest> request;
+        private final Consumer<String> onResponse;
+
+        private Endpoint(String name, Function<Random, HttpRequest> request) {
+            this(name, request, null);
+        }
+
+        private Endpoint(String name, Function<Random, HttpRequest> request, Consumer<String> onResponse) {
+            this.name = name;
+            this.random = new Random(seed ^ name.hashCode());
+            this.request = request;
+            this.onResponse = onResponse;
+        }
+    }
+}
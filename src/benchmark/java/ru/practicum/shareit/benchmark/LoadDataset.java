@@ -0,0 +1,201 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Синтетический набор данных для нагрузочного бенчмарка. Заполняет БД напрямую пакетами JDBC и запоминает то,
+// что нужно генератору запросов: владельцев вещей, участников бронирований, ожидающие ответа бронирования.
+// При одинаковых размерах и seed данные совпадают, поэтому прогоны можно сравнивать между собой.
+//
+// Распределения: начало бронирования - от полугода назад до двух месяцев вперед, длительность 1-14 дней;
+// прошедшие бронирования в основном подтверждены, у будущих заметная доля ожидает ответа; отзывы оставляют
+// только арендаторы завершенных подтвержденных бронирований.
+public class LoadDataset {
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] WORDS = {"дрель", "перфоратор", "пила", "лестница", "палатка", "велосипед",
+            "шуруповерт", "отвертка", "молоток", "тачка", "самокат", "проектор", "удочка", "гитара", "каяк"};
+
+    private final int userCount;
+    private final int itemCount;
+    private final int bookingCount;
+    private final int commentCount;
+    private final int requestCount;
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private final long[] itemOwners;
+    private final boolean[] itemAvailable;
+    private final long[] bookingBookers;
+    private final long[] bookingItems;
+    private final List<Long> pastBookingIds = new ArrayList<>();
+    private final List<Long> waitingBookingIds = new ArrayList<>();
+
+    public LoadDataset(int userCount, int itemCount, int bookingCount, int commentCount, int requestCount,
+                       long seed) {
+        this.userCount = userCount;
+        this.itemCount = itemCount;
+        this.bookingCount = bookingCount;
+        this.commentCount = commentCount;
+        this.requestCount = requestCount;
+        this.random = new Random(seed);
+        this.itemOwners = new long[itemCount + 1];
+        this.itemAvailable = new boolean[itemCount + 1];
+        this.bookingBookers = new long[bookingCount + 1];
+        this.bookingItems = new long[bookingCount + 1];
+    }
+
+    public void generate(JdbcTemplate jdbcTemplate) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= userCount; id++)
+            flushIfFull(jdbcTemplate, "INSERT INTO users (id, name, email) VALUES (?, ?, ?)", rows,
+                    new Object[]{id, "user " + id, "user" + id + "@load.test"});
+        flush(jdbcTemplate, "INSERT INTO users (id, name, email) VALUES (?, ?, ?)", rows);
+
+        String requestSql = "INSERT INTO requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)";
+        for (long id = 1; id <= requestCount; id++)
+            flushIfFull(jdbcTemplate, requestSql, rows, new Object[]{id, "Нужна " + word(), randomUser(),
+                    timestamp(now.minusMinutes(random.nextInt(365 * 24 * 60)))});
+        flush(jdbcTemplate, requestSql, rows);
+
+        String itemSql = "INSERT INTO items (id, name, description, available, request_id, owner_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
+        for (int id = 1; id <= itemCount; id++) {
+            String word = word();
+            itemOwners[id] = randomUser();
+            itemAvailable[id] = random.nextInt(100) < 85;
+            Long requestId = requestCount > 0 && random.nextInt(100) < 20 ? 1L + random.nextInt(requestCount) : null;
+            flushIfFull(jdbcTemplate, itemSql, rows, new Object[]{(long) id, word + " " + id,
+                    "Хорошая " + word + ", в комплекте " + word(), itemAvailable[id], requestId, itemOwners[id]});
+        }
+        flush(jdbcTemplate, itemSql, rows);
+
+        String bookingSql = "INSERT INTO bookings (id, booking_start, booking_end, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
+        for (int id = 1; id <= bookingCount; id++) {
+            bookingItems[id] = 1L + random.nextInt(itemCount);
+            bookingBookers[id] = randomUserExcept(itemOwners[(int) bookingItems[id]]);
+            LocalDateTime start = now.plusHours(random.nextInt(240 * 24) - 180 * 24);
+            LocalDateTime end = start.plusDays(1 + random.nextInt(14));
+            String status = status(start, end);
+            if (end.isBefore(now) && status.equals("APPROVED"))
+                pastBookingIds.add((long) id);
+            if (status.equals("WAITING"))
+                waitingBookingIds.add((long) id);
+            flushIfFull(jdbcTemplate, bookingSql, rows, new Object[]{(long) id, timestamp(start), timestamp(end),
+                    bookingItems[id], bookingBookers[id], status});
+        }
+        flush(jdbcTemplate, bookingSql, rows);
+
+        String commentSql = "INSERT INTO comments (id, text, author_id, created, item_id) VALUES (?, ?, ?, ?, ?)";
+        for (long id = 1; id <= commentCount && !pastBookingIds.isEmpty(); id++) {
+            int booking = pastBookingIds.get(random.nextInt(pastBookingIds.size())).intValue();
+            flushIfFull(jdbcTemplate, commentSql, rows, new Object[]{id, "Отзыв о вещи " + word(),
+                    bookingBookers[booking], timestamp(now.minusMinutes(random.nextInt(180 * 24 * 60))),
+                    bookingItems[booking]});
+        }
+        flush(jdbcTemplate, commentSql, rows);
+
+        // приложение продолжает выдавать id после сгенерированных
+        restartSequence(jdbcTemplate, "users_seq", userCount);
+        restartSequence(jdbcTemplate, "requests_seq", requestCount);
+        restartSequence(jdbcTemplate, "items_seq", itemCount);
+        restartSequence(jdbcTemplate, "bookings_seq", bookingCount);
+        restartSequence(jdbcTemplate, "comments_seq", commentCount);
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public int getBookingCount() {
+        return bookingCount;
+    }
+
+    public int getRequestCount() {
+        return requestCount;
+    }
+
+    public long getItemOwner(long itemId) {
+        return itemOwners[(int) itemId];
+    }
+
+    public boolean isItemAvailable(long itemId) {
+        return itemAvailable[(int) itemId];
+    }
+
+    public long getBookingBooker(long bookingId) {
+        return bookingBookers[(int) bookingId];
+    }
+
+    public long getBookingItem(long bookingId) {
+        return bookingItems[(int) bookingId];
+    }
+
+    public List<Long> getPastBookingIds() {
+        return pastBookingIds;
+    }
+
+    public List<Long> getWaitingBookingIds() {
+        return waitingBookingIds;
+    }
+
+    public static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private String word() {
+        return word(random);
+    }
+
+    private String status(LocalDateTime start, LocalDateTime end) {
+        int roll = random.nextInt(100);
+        if (end.isBefore(now))
+            return roll < 85 ? "APPROVED" : "REJECTED";
+        if (start.isBefore(now))
+            return "APPROVED";
+        return roll < 40 ? "WAITING" : roll < 90 ? "APPROVED" : "REJECTED";
+    }
+
+    private long randomUser() {
+        return 1L + random.nextInt(userCount);
+    }
+
+    private long randomUserExcept(long userId) {
+        if (userCount == 1)
+            return userId;
+        long result = randomUser();
+        while (result == userId)
+            result = randomUser();
+        return result;
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return Timestamp.valueOf(time);
+    }
+
+    private static void flushIfFull(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows, Object[] row) {
+        rows.add(row);
+        if (rows.size() == BATCH_SIZE)
+            flush(jdbcTemplate, sql, rows);
+    }
+
+    private static void flush(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        if (rows.isEmpty())
+            return;
+        jdbcTemplate.batchUpdate(sql, rows);
+        rows.clear();
+    }
+
+    private static void restartSequence(JdbcTemplate jdbcTemplate, String sequence, int lastId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (lastId + 1));
+    }
+}
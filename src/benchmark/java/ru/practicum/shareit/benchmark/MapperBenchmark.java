@@ -0,0 +1,96 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingStateFilter;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentWithCountView;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoForRequest;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.RequestMapper;
+import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.model.Request;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Пропускная способность преобразований сущность --> DTO для страницы размера size
+// и группировки отзывов по вещам, как в ItemService.getUserItems
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<Request> requests;
+    private List<ItemDtoForRequest> requestItems;
+    private List<CommentWithCountView> comments;
+    private LocalDateTime currentTime;
+
+    @Setup
+    public void setUp() {
+        bookings = BenchmarkData.bookings(size);
+        items = BenchmarkData.items(size);
+        requests = BenchmarkData.requests(size);
+        requestItems = BenchmarkData.requestItems(1, 3);
+        comments = BenchmarkData.commentViews(size, 10);
+        currentTime = LocalDateTime.of(2023, 6, 1, 0, 0);
+    }
+
+    @Benchmark
+    public List<ResponseBookingDto> bookingsToResponseDtos() {
+        List<ResponseBookingDto> result = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings)
+            result.add(BookingMapper.toResponseBookingDto(booking));
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemDto> itemsToItemDtos() {
+        List<ItemDto> result = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++)
+            result.add(ItemMapper.toItemWithBookingsDto(items.get(i), Collections.emptyList(), 0L,
+                    bookings.get(i), bookings.get(bookings.size() - 1 - i)));
+        return result;
+    }
+
+    @Benchmark
+    public List<RequestDto> requestsToRequestDtos() {
+        List<RequestDto> result = new ArrayList<>(requests.size());
+        for (Request request : requests)
+            result.add(RequestMapper.toRequestDto(request, requestItems));
+        return result;
+    }
+
+    @Benchmark
+    public void groupCommentsByItem(Blackhole blackhole) {
+        Map<Long, List<CommentDto>> commentsByItemId = CommentMapper.toCommentDtosByItemId(comments);
+        Map<Long, Long> commentsCountByItemId = CommentMapper.toCommentsCountByItemId(comments);
+        blackhole.consume(commentsByItemId);
+        blackhole.consume(commentsCountByItemId);
+    }
+
+    @Benchmark
+    public void bookingStateFilters(Blackhole blackhole) {
+        for (String state : STATES)
+            blackhole.consume(BookingStateFilter.of(state, currentTime));
+    }
+}
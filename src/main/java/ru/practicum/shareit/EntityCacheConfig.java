@@ -0,0 +1,60 @@
+package ru.practicum.shareit;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.model.User;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.persistence.SharedCacheMode;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Кэш второго уровня Hibernate для редко изменяемых сущностей (JCache на Caffeine).
+// Регионы создаются заранее с размером и временем жизни из shareit.entity-cache.*, у каждого контекста приложения
+// свой CacheManager. Статистика Hibernate включена и публикуется в метриках hibernate.second.level.cache.*.
+@Configuration
+public class EntityCacheConfig {
+    private static final List<Class<?>> CACHED_ENTITIES = List.of(User.class, Item.class, Request.class);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(@Value("${shareit.entity-cache.maximum-size:10000}") long maximumSize,
+                                           @Value("${shareit.entity-cache.ttl:10m}") Duration ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-entity-cache-" + UUID.randomUUID()),
+                        EntityCacheConfig.class.getClassLoader());
+        for (Class<?> entity : CACHED_ENTITIES) {
+            if (cacheManager.getCache(entity.getName()) != null)
+                continue;
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(entity.getName(), configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create-warn");
+            properties.put(AvailableSettings.JPA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+}
@@ -2,4 +2,6 @@ package ru.practicum.shareit;
 
 public class HeaderNames {
     public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String HAS_NEXT_HEADER = "X-Has-Next";
 }
@@ -2,12 +2,16 @@ package ru.practicum.shareit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class ShareItApp {
 
 	public static void main(String[] args) {
-		SpringApplication.run(ShareItApp.class, args);
+		SpringApplication application = new SpringApplication(ShareItApp.class);
+		// шаги запуска с длительностью (миграции, EntityManagerFactory, ...) доступны в /actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(2048));
+		application.run(args);
 	}
 
 }
@@ -2,10 +2,14 @@ package ru.practicum.shareit.booking;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.HeaderNames;
+import ru.practicum.shareit.booking.dto.BookingAnswerDto;
+import ru.practicum.shareit.booking.dto.BookingAnswerResultDto;
 import ru.practicum.shareit.booking.dto.RequestBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import javax.validation.constraints.Positive;
 import java.util.List;
@@ -52,6 +56,34 @@ public class BookingController {
         return responseOwnerBookingDtos;
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<ResponseBookingDto>> getBookingsAfterCursor(
+            @RequestParam(defaultValue = "ALL") String state,
+            @Positive @RequestHeader(HeaderNames.USER_ID_HEADER) Long userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") Integer size) {
+        log.info("Начало обработки запроса на получение {} запросов на аренду пользователя с id={} после курсора {}",
+                state, userId, cursor);
+        CursorPage<ResponseBookingDto> page = bookingService.getBookingsAfterCursor(state, userId, cursor, size);
+        log.info("Окончание обработки запроса на получение {} запросов на аренду пользователя с id={} после курсора {}",
+                state, userId, cursor);
+        return toResponseEntity(page);
+    }
+
+    @GetMapping(path = "/owner", params = "cursor")
+    public ResponseEntity<List<ResponseBookingDto>> getOwnerBookingsAfterCursor(
+            @RequestParam(defaultValue = "ALL") String state,
+            @Positive @RequestHeader(HeaderNames.USER_ID_HEADER) Long userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") Integer size) {
+        log.info("Начало обработки запроса на получение {} запросов на аренду вещей пользователя с id={} после курсора {}",
+                state, userId, cursor);
+        CursorPage<ResponseBookingDto> page = bookingService.getOwnerBookingsAfterCursor(state, userId, cursor, size);
+        log.info("Окончание обработки запроса на получение {} запросов на аренду вещей пользователя с id={} после " +
+                "курсора {}", state, userId, cursor);
+        return toResponseEntity(page);
+    }
+
     @PostMapping
     public ResponseBookingDto createBooking(@RequestBody RequestBookingDto requestBookingDto,
                                             @Positive @RequestHeader(HeaderNames.USER_ID_HEADER) Long bookerId) {
@@ -74,4 +106,22 @@ public class BookingController {
                 approved, bookingId, userId);
         return responseBookingDto;
     }
+
+    @PatchMapping("/batch")
+    public List<BookingAnswerResultDto> responseOnBookings(@RequestBody List<BookingAnswerDto> answers,
+                                                           @Positive @RequestHeader(HeaderNames.USER_ID_HEADER) Long userId) {
+        log.info("Начало обработки пакетного запроса на ответ на {} запросов аренды от пользователя с id={}",
+                answers.size(), userId);
+        List<BookingAnswerResultDto> results = bookingService.answerOnBookings(answers, userId);
+        log.info("Окончание обработки пакетного запроса на ответ на {} запросов аренды от пользователя с id={}",
+                answers.size(), userId);
+        return results;
+    }
+
+    private ResponseEntity<List<ResponseBookingDto>> toResponseEntity(CursorPage<ResponseBookingDto> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null)
+            response.header(HeaderNames.NEXT_CURSOR_HEADER, page.getNextCursor());
+        return response.body(page.getContent());
+    }
 }
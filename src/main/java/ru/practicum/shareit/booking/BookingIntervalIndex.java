@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Индекс одобренных бронирований в памяти. Для каждой вещи хранятся непересекающиеся интервалы аренды,
+// упорядоченные по времени начала, поэтому проверка пересечения с новым интервалом выполняется за O(log n).
+// Интервалы вещи подгружаются из БД при первом обращении, завершившиеся интервалы не хранятся.
+// Интервал, добавленный внутри транзакции, удаляется из индекса при ее откате.
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+    private final BookingRepository bookingRepository;
+    private final Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> intervals = new ConcurrentHashMap<>();
+
+    // метод, проверяющий, пересекается ли интервал [start, end) с одобренными бронированиями вещи
+    public boolean hasConflict(Long itemId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, LocalDateTime> itemIntervals = getItemIntervals(itemId);
+        synchronized (itemIntervals) {
+            return overlaps(itemIntervals, start, end);
+        }
+    }
+
+    // метод, атомарно проверяющий отсутствие пересечений и добавляющий интервал [start, end) в индекс
+    public boolean tryReserve(Long itemId, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime currentTime = LocalDateTime.now();
+        if (!end.isAfter(currentTime))
+            return true;
+        NavigableMap<LocalDateTime, LocalDateTime> itemIntervals = getItemIntervals(itemId);
+        synchronized (itemIntervals) {
+            removeFinished(itemIntervals, currentTime);
+            if (overlaps(itemIntervals, start, end))
+                return false;
+            itemIntervals.put(start, end);
+        }
+        registerRollbackRelease(new Reservation(itemId, start, end));
+        return true;
+    }
+
+    // метод, удаляющий из индекса интервал [start, end), ранее добавленный методом tryReserve
+    public void release(Long itemId, LocalDateTime start, LocalDateTime end) {
+        Set<Reservation> reservations = getTransactionReservations();
+        if (reservations != null)
+            reservations.remove(new Reservation(itemId, start, end));
+        remove(itemId, start, end);
+    }
+
+    private void remove(Long itemId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, LocalDateTime> itemIntervals = intervals.get(itemId);
+        if (itemIntervals == null)
+            return;
+        synchronized (itemIntervals) {
+            itemIntervals.remove(start, end);
+        }
+    }
+
+    // интервалы, добавленные в текущей транзакции, запоминаются, чтобы удалить их из индекса при откате;
+    // интервалы, уже освобожденные методом release, повторно не удаляются
+    private void registerRollbackRelease(Reservation reservation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return;
+        Set<Reservation> reservations = getTransactionReservations();
+        if (reservations == null) {
+            Set<Reservation> transactionReservations = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, transactionReservations);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BookingIntervalIndex.this);
+                    if (status == STATUS_ROLLED_BACK)
+                        transactionReservations.forEach(reserved -> remove(reserved.getItemId(),
+                                reserved.getStart(), reserved.getEnd()));
+                }
+            });
+            reservations = transactionReservations;
+        }
+        reservations.add(reservation);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Reservation> getTransactionReservations() {
+        return (Set<Reservation>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private NavigableMap<LocalDateTime, LocalDateTime> getItemIntervals(Long itemId) {
+        return intervals.computeIfAbsent(itemId, this::loadItemIntervals);
+    }
+
+    private NavigableMap<LocalDateTime, LocalDateTime> loadItemIntervals(Long itemId) {
+        NavigableMap<LocalDateTime, LocalDateTime> itemIntervals = new TreeMap<>();
+        for (Booking booking : bookingRepository.findAllByItem_IdAndStatusAndEndAfterOrderByStartAsc(itemId,
+                BookingStatus.APPROVED, LocalDateTime.now())) {
+            // ранее одобренные бронирования могут пересекаться между собой - такие интервалы объединяются
+            Map.Entry<LocalDateTime, LocalDateTime> last = itemIntervals.lastEntry();
+            if (last != null && last.getValue().isAfter(booking.getStart())) {
+                if (booking.getEnd().isAfter(last.getValue()))
+                    itemIntervals.put(last.getKey(), booking.getEnd());
+            } else
+                itemIntervals.put(booking.getStart(), booking.getEnd());
+        }
+        return itemIntervals;
+    }
+
+    // интервалы не пересекаются, поэтому достаточно проверить интервал с ближайшим началом до end
+    private static boolean overlaps(NavigableMap<LocalDateTime, LocalDateTime> itemIntervals, LocalDateTime start,
+                                    LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> previous = itemIntervals.lowerEntry(end);
+        return previous != null && previous.getValue().isAfter(start);
+    }
+
+    private static void removeFinished(NavigableMap<LocalDateTime, LocalDateTime> itemIntervals,
+                                       LocalDateTime currentTime) {
+        while (!itemIntervals.isEmpty() && !itemIntervals.firstEntry().getValue().isAfter(currentTime))
+            itemIntervals.pollFirstEntry();
+    }
+
+    @Value
+    private static class Reservation {
+        Long itemId;
+        LocalDateTime start;
+        LocalDateTime end;
+    }
+}
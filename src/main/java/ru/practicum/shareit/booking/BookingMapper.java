@@ -1,12 +1,15 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.dto.RequestBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingForItemDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Collections;
@@ -20,7 +23,21 @@ public class BookingMapper {
     // Booking --> ResponseBooking
     public static ResponseBookingDto toResponseBookingDto(Booking booking) {
         return new ResponseBookingDto(booking.getId(), booking.getStart(), booking.getEnd(),
-                ItemMapper.toItemWithoutBookingsDto(booking.getItem(), Collections.emptyList()), UserMapper.toUserDto(booking.getBooker()), booking.getStatus());
+                ItemMapper.toItemWithoutBookingsDto(booking.getItem(), Collections.emptyList(), 0L), UserMapper.toUserDto(booking.getBooker()), booking.getStatus());
+    }
+
+    // BookingView --> ResponseBooking
+    public static ResponseBookingDto toResponseBookingDto(BookingView booking) {
+        return toResponseBookingDto(booking, booking.getStatus());
+    }
+
+    // BookingView --> ResponseBooking со статусом, установленным после чтения представления
+    public static ResponseBookingDto toResponseBookingDto(BookingView booking, BookingStatus status) {
+        return new ResponseBookingDto(booking.getId(), booking.getBookingStart(), booking.getBookingEnd(),
+                new ItemDto(booking.getItemId(), booking.getItemName(), booking.getItemDescription(),
+                        booking.getItemAvailable(), booking.getItemRequestId(), Collections.emptyList(), 0L, null, null),
+                new UserDto(booking.getBookerId(), booking.getBookerName(), booking.getBookerEmail()),
+                status);
     }
 
     // Booking --> ResponseBookingForItemDto
@@ -3,34 +3,41 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingAnswerDto;
+import ru.practicum.shareit.booking.dto.BookingAnswerResultDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.dto.RequestBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.UserLookup;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final ItemRepository itemRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Transactional(readOnly = true)
     public ResponseBookingDto getBooking(Long bookingId, Long userId) {
-        checkUser(userId);
+        userLookup.checkExists(userId);
         Booking booking = checkBooking(bookingId);
         if (!(booking.getBooker().getId().equals(userId) || booking.getItem().getOwner().getId().equals(userId)))
             throw new NoAccessException("Пользователь с id=" + userId + " не является ни создателем запроса на " +
@@ -41,7 +48,7 @@ public class BookingService {
 
     @Transactional(readOnly = true)
     public List<ResponseBookingDto> getBookings(String state, Long userId, Integer from, Integer size) {
-        checkUser(userId);
+        userLookup.checkExists(userId);
 
         Pageable page = null;
         if (from != null && size != null) {
@@ -59,23 +66,16 @@ public class BookingService {
                 queryResult = bookingRepository.findAllByBooker_IdOrderByStartDesc(userId, page).getContent();
                 break;
             case "CURRENT":
-                queryResult = bookingRepository.findAllByBooker_IdOrderByStartDesc(userId, page).getContent()
-                        .stream()
-                        .filter(booking -> !(currentTime.isBefore(booking.getStart()) ||
-                                currentTime.isAfter(booking.getEnd())))
-                        .collect(Collectors.toList());
+                queryResult = bookingRepository.findAllByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(userId,
+                        currentTime, currentTime, page).getContent();
                 break;
             case "PAST":
-                queryResult = bookingRepository.findAllByBooker_IdOrderByStartDesc(userId, page).getContent()
-                        .stream()
-                        .filter(booking -> currentTime.isAfter(booking.getEnd()))
-                        .collect(Collectors.toList());
+                queryResult = bookingRepository.findAllByBooker_IdAndEndBeforeOrderByStartDesc(userId, currentTime,
+                        page).getContent();
                 break;
             case "FUTURE":
-                queryResult = bookingRepository.findAllByBooker_IdOrderByStartDesc(userId, page).getContent()
-                        .stream()
-                        .filter(booking -> currentTime.isBefore(booking.getStart()))
-                        .collect(Collectors.toList());
+                queryResult = bookingRepository.findAllByBooker_IdAndStartAfterOrderByStartDesc(userId, currentTime,
+                        page).getContent();
                 break;
             case "WAITING":
                 queryResult = bookingRepository.findAllByBooker_IdAndStatusOrderByStartDesc(userId,
@@ -94,8 +94,9 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ResponseBookingDto> getOwnerBookings(String state, Long ownerId, Integer from, Integer size) {
-        checkUser(ownerId);
+        userLookup.checkExists(ownerId);
 
         Pageable page = null;
         if (from != null && size != null) {
@@ -113,23 +114,16 @@ public class BookingService {
                 queryResult = bookingRepository.findAllByItem_Owner_IdOrderByStartDesc(ownerId, page).getContent();
                 break;
             case "CURRENT":
-                queryResult = bookingRepository.findAllByItem_Owner_IdOrderByStartDesc(ownerId, page).getContent()
-                        .stream()
-                        .filter(booking -> !(currentTime.isBefore(booking.getStart()) ||
-                                currentTime.isAfter(booking.getEnd())))
-                        .collect(Collectors.toList());
+                queryResult = bookingRepository.findAllByItem_Owner_IdAndStartBeforeAndEndAfterOrderByStartDesc(ownerId,
+                        currentTime, currentTime, page).getContent();
                 break;
             case "PAST":
-                queryResult = bookingRepository.findAllByItem_Owner_IdOrderByStartDesc(ownerId, page).getContent()
-                        .stream()
-                        .filter(booking -> currentTime.isAfter(booking.getEnd()))
-                        .collect(Collectors.toList());
+                queryResult = bookingRepository.findAllByItem_Owner_IdAndEndBeforeOrderByStartDesc(ownerId, currentTime,
+                        page).getContent();
                 break;
             case "FUTURE":
-                queryResult = bookingRepository.findAllByItem_Owner_IdOrderByStartDesc(ownerId, page).getContent()
-                        .stream()
-                        .filter(booking -> currentTime.isBefore(booking.getStart()))
-                        .collect(Collectors.toList());
+                queryResult = bookingRepository.findAllByItem_Owner_IdAndStartAfterOrderByStartDesc(ownerId, currentTime,
+                        page).getContent();
                 break;
             case "WAITING":
                 queryResult = bookingRepository.findAllByItem_Owner_IdAndStatusOrderByStartDesc(ownerId,
@@ -148,16 +142,43 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<ResponseBookingDto> getBookingsAfterCursor(String state, Long userId, String cursor,
+                                                                 Integer size) {
+        userLookup.checkExists(userId);
+        checkCursorPageSize(size);
+        BookingStateFilter filter = BookingStateFilter.of(state, LocalDateTime.now());
+        Cursor after = Cursor.decode(cursor);
+        return toCursorPage(bookingRepository.findBookerBookingsAfterCursor(userId, filter.getStatuses(),
+                filter.getStartAfter(), filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore(),
+                after.getTimestamp(), after.getId(), PageRequest.of(0, size)));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ResponseBookingDto> getOwnerBookingsAfterCursor(String state, Long ownerId, String cursor,
+                                                                      Integer size) {
+        userLookup.checkExists(ownerId);
+        checkCursorPageSize(size);
+        BookingStateFilter filter = BookingStateFilter.of(state, LocalDateTime.now());
+        Cursor after = Cursor.decode(cursor);
+        return toCursorPage(bookingRepository.findOwnerBookingsAfterCursor(ownerId, filter.getStatuses(),
+                filter.getStartAfter(), filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore(),
+                after.getTimestamp(), after.getId(), PageRequest.of(0, size)));
+    }
+
     @Transactional
     public ResponseBookingDto createBooking(RequestBookingDto requestBookingDto, Long bookerId) {
         BookingValidator.checkNecessaryFields(requestBookingDto);
-        User booker = checkUser(bookerId);
+        User booker = userLookup.getReference(bookerId);
         Item item = checkItem(requestBookingDto.getItemId());
         if (item.getOwner().getId().equals(bookerId)) {
             throw new NoAccessException("Пользователь с id=" + bookerId + " является владельцем вещи с id=" + item.getId());
         }
         if (!item.getAvailable())
             throw new ItemUnavailableException("Вещь с id=" + item.getId() + " на данный момент недоступна");
+        if (bookingIntervalIndex.hasConflict(item.getId(), requestBookingDto.getStart(), requestBookingDto.getEnd()))
+            throw new ItemUnavailableException("Вещь с id=" + item.getId() + " уже забронирована на период с " +
+                    requestBookingDto.getStart() + " по " + requestBookingDto.getEnd());
         return BookingMapper.toResponseBookingDto(
                 bookingRepository.save(BookingMapper.toBooking(requestBookingDto, item,
                         booker, BookingStatus.WAITING))
@@ -166,27 +187,113 @@ public class BookingService {
 
     @Transactional
     public ResponseBookingDto answerOnBooking(Long bookingId, Boolean approved, Long userId) {
-        Booking booking = checkBooking(bookingId);
-        if (!booking.getItem().getOwner().getId().equals(userId)) {
-            throw new NoAccessException("Пользователь с id=" + userId + " не является владельцем вещи с id=" +
-                    booking.getItem().getId());
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        // представление читается один раз, ответ строится из него с новым статусом
+        BookingView booking = checkBookingView(bookingId);
+        checkCanAnswer(booking, userId);
+        // интервал резервируется до обновления статуса: иначе интервалы вещи, загружаемые в индекс в этой же
+        // транзакции, уже содержали бы одобряемое бронирование, и оно пересекалось бы само с собой
+        if (approved && !bookingIntervalIndex.tryReserve(booking.getItemId(), booking.getBookingStart(),
+                booking.getBookingEnd()))
+            throw new ItemUnavailableException("Вещь с id=" + booking.getItemId() + " уже забронирована на " +
+                    "период с " + booking.getBookingStart() + " по " + booking.getBookingEnd());
+        // при исключении транзакция откатывается, и резерв интервала снимается
+        if (bookingRepository.updateStatusIfOwner(bookingId, userId, BookingStatus.WAITING, status) == 0) {
+            // запрос отвечен параллельно после чтения - причину отказа определяем по актуальному состоянию
+            checkCanAnswer(checkBookingView(bookingId), userId);
+            throw new BookingIsAlreadyAnswered("Запрос на аренду с id=" + bookingId + " уже отвечен");
         }
 
-        if (booking.getStatus().equals(BookingStatus.WAITING)) {
-            if (approved)
-                booking.setStatus(BookingStatus.APPROVED);
-            else
-                booking.setStatus(BookingStatus.REJECTED);
-        } else
-            throw new BookingIsAlreadyAnswered("Запрос на аренду с id=" + bookingId + " уже отвечен");
-        return BookingMapper.toResponseBookingDto(bookingRepository.save(booking));
+        return BookingMapper.toResponseBookingDto(booking, status);
+    }
+
+    @Transactional
+    public List<BookingAnswerResultDto> answerOnBookings(List<BookingAnswerDto> answers, Long userId) {
+        BookingValidator.checkAnswers(answers);
+        Map<Long, BookingView> bookings = bookingRepository.findViewsByIdIn(answers
+                        .stream()
+                        .map(BookingAnswerDto::getBookingId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(BookingView::getId, Function.identity()));
+
+        // интервалы одобряемых запросов резервируются до обновления статусов (см. answerOnBooking); резервы
+        // запросов, отвеченных параллельно, освобождаются после сверки, а при откате транзакции - все резервы
+        Map<Long, BookingAnswerResultDto> results = new LinkedHashMap<>();
+        List<Long> approvedIds = new ArrayList<>();
+        List<Long> rejectedIds = new ArrayList<>();
+        for (BookingAnswerDto answer : answers) {
+            Long bookingId = answer.getBookingId();
+            BookingView booking = bookings.get(bookingId);
+            if (booking == null) {
+                results.put(bookingId, new BookingAnswerResultDto(bookingId, null,
+                        "Запроса на аренду с id=" + bookingId + " не существует"));
+            } else if (!booking.getItemOwnerId().equals(userId)) {
+                results.put(bookingId, new BookingAnswerResultDto(bookingId, null,
+                        "Пользователь с id=" + userId + " не является владельцем вещи с id=" + booking.getItemId()));
+            } else if (!booking.getStatus().equals(BookingStatus.WAITING)) {
+                results.put(bookingId, new BookingAnswerResultDto(bookingId, booking.getStatus(),
+                        "Запрос на аренду с id=" + bookingId + " уже отвечен"));
+            } else if (answer.getApproved() && !bookingIntervalIndex.tryReserve(booking.getItemId(),
+                    booking.getBookingStart(), booking.getBookingEnd())) {
+                results.put(bookingId, new BookingAnswerResultDto(bookingId, booking.getStatus(),
+                        "Вещь с id=" + booking.getItemId() + " уже забронирована на период с " +
+                                booking.getBookingStart() + " по " + booking.getBookingEnd()));
+            } else {
+                if (answer.getApproved()) {
+                    approvedIds.add(bookingId);
+                    results.put(bookingId, new BookingAnswerResultDto(bookingId, BookingStatus.APPROVED, null));
+                } else {
+                    rejectedIds.add(bookingId);
+                    results.put(bookingId, new BookingAnswerResultDto(bookingId, BookingStatus.REJECTED, null));
+                }
+            }
+        }
+
+        int updated = updateStatuses(approvedIds, userId, BookingStatus.APPROVED) +
+                updateStatuses(rejectedIds, userId, BookingStatus.REJECTED);
+        if (updated < approvedIds.size() + rejectedIds.size()) {
+            // часть запросов была отвечена параллельно между чтением и обновлением - сверяем фактические статусы
+            List<Long> answeredIds = new ArrayList<>(approvedIds);
+            answeredIds.addAll(rejectedIds);
+            for (BookingView booking : bookingRepository.findViewsByIdIn(answeredIds)) {
+                if (!booking.getStatus().equals(results.get(booking.getId()).getStatus())) {
+                    results.put(booking.getId(), new BookingAnswerResultDto(booking.getId(), booking.getStatus(),
+                            "Запрос на аренду с id=" + booking.getId() + " уже отвечен"));
+                    // обновление не изменило запрос - зарезервированный для него интервал освобождается
+                    if (approvedIds.contains(booking.getId()))
+                        bookingIntervalIndex.release(booking.getItemId(), booking.getBookingStart(),
+                                booking.getBookingEnd());
+                }
+            }
+        }
+        return new ArrayList<>(results.values());
     }
 
-    private User checkUser(Long userId) {
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isEmpty())
-            throw new ObjectNotFoundException("Пользователя с id=" + userId + " не существует");
-        return userOptional.get();
+    private int updateStatuses(List<Long> bookingIds, Long ownerId, BookingStatus status) {
+        if (bookingIds.isEmpty())
+            return 0;
+        return bookingRepository.updateStatusesIfOwner(bookingIds, ownerId, BookingStatus.WAITING, status);
+    }
+
+    private void checkCanAnswer(BookingView booking, Long userId) {
+        if (!booking.getItemOwnerId().equals(userId))
+            throw new NoAccessException("Пользователь с id=" + userId + " не является владельцем вещи с id=" +
+                    booking.getItemId());
+        if (!booking.getStatus().equals(BookingStatus.WAITING))
+            throw new BookingIsAlreadyAnswered("Запрос на аренду с id=" + booking.getId() + " уже отвечен");
+    }
+
+    private void checkCursorPageSize(Integer size) {
+        if (size == null || size <= 0)
+            throw new ValidationException("Параметр size должен быть следующего вида: size > 0");
+    }
+
+    private CursorPage<ResponseBookingDto> toCursorPage(Slice<Booking> slice) {
+        return CursorPage.of(slice, Booking::getStart, Booking::getId, bookings -> bookings
+                .stream()
+                .map(BookingMapper::toResponseBookingDto)
+                .collect(Collectors.toList()));
     }
 
     private Item checkItem(Long itemId) {
@@ -196,6 +303,12 @@ public class BookingService {
         return itemOptional.get();
     }
 
+    private BookingView checkBookingView(Long bookingId) {
+        return bookingRepository.findViewById(bookingId)
+                .orElseThrow(() -> new ObjectNotFoundException("Запроса на аренду с id=" + bookingId +
+                        " не существует"));
+    }
+
     private Booking checkBooking(Long bookingId) {
         Optional<Booking> bookingOptional = bookingRepository.findById(bookingId);
         if (bookingOptional.isEmpty())
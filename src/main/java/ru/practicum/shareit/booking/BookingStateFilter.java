@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Состояние запроса на аренду, выраженное через допустимые статусы и границы времени начала/окончания аренды,
+// чтобы все состояния обслуживались одним запросом к БД
+@Getter
+@AllArgsConstructor
+public class BookingStateFilter {
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final Set<BookingStatus> statuses;
+    private final LocalDateTime startAfter;
+    private final LocalDateTime startBefore;
+    private final LocalDateTime endAfter;
+    private final LocalDateTime endBefore;
+
+    public static BookingStateFilter of(String state, LocalDateTime currentTime) {
+        Set<BookingStatus> allStatuses = EnumSet.allOf(BookingStatus.class);
+        switch (state.toUpperCase()) {
+            case "ALL":
+                return new BookingStateFilter(allStatuses, MIN_TIME, MAX_TIME, MIN_TIME, MAX_TIME);
+            case "CURRENT":
+                return new BookingStateFilter(allStatuses, MIN_TIME, currentTime, currentTime, MAX_TIME);
+            case "PAST":
+                return new BookingStateFilter(allStatuses, MIN_TIME, MAX_TIME, MIN_TIME, currentTime);
+            case "FUTURE":
+                return new BookingStateFilter(allStatuses, currentTime, MAX_TIME, MIN_TIME, MAX_TIME);
+            case "WAITING":
+                return new BookingStateFilter(EnumSet.of(BookingStatus.WAITING), MIN_TIME, MAX_TIME, MIN_TIME, MAX_TIME);
+            case "REJECTED":
+                return new BookingStateFilter(EnumSet.of(BookingStatus.REJECTED), MIN_TIME, MAX_TIME, MIN_TIME,
+                        MAX_TIME);
+            default:
+                throw new ValidationException("Unknown state: " + state);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingAnswerDto;
 import ru.practicum.shareit.booking.dto.RequestBookingDto;
 import ru.practicum.shareit.exception.ValidationException;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 public class BookingValidator {
 
@@ -20,4 +24,21 @@ public class BookingValidator {
         if (bookingDto.getStart().isBefore(LocalDateTime.now()))
             throw new ValidationException("Время начала аренды не может быть в прошлом");
     }
+
+    // метод, проверяющий пакет ответов на запросы на аренду: непустой, без повторяющихся и пустых идентификаторов
+    public static void checkAnswers(List<BookingAnswerDto> answers) {
+        if (answers == null || answers.isEmpty())
+            throw new ValidationException("Список ответов на запросы на аренду не может быть пустым");
+        Set<Long> bookingIds = new HashSet<>();
+        for (BookingAnswerDto answer : answers) {
+            if (answer == null || answer.getBookingId() == null || answer.getBookingId() <= 0)
+                throw new ValidationException("Идентификатор запроса на аренду должен быть положительным");
+            if (answer.getApproved() == null)
+                throw new ValidationException("Ответ на запрос на аренду с id=" + answer.getBookingId() +
+                        " не может быть пустым");
+            if (!bookingIds.add(answer.getBookingId()))
+                throw new ValidationException("Запрос на аренду с id=" + answer.getBookingId() +
+                        " указан в пакете несколько раз");
+        }
+    }
 }
@@ -2,25 +2,194 @@ package ru.practicum.shareit.booking.dao;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Page<Booking> findAllByBooker_IdOrderByStartDesc(Long bookerId, Pageable page);
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long bookingId);
 
-    Page<Booking> findAllByBooker_IdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status, Pageable page);
+    @Query("select b.id as id, b.start as bookingStart, b.end as bookingEnd, b.status as status, " +
+            "i.id as itemId, i.name as itemName, i.description as itemDescription, i.available as itemAvailable, " +
+            "i.requestId as itemRequestId, i.owner.id as itemOwnerId, " +
+            "u.id as bookerId, u.name as bookerName, u.email as bookerEmail " +
+            "from Booking b join b.item i join b.booker u " +
+            "where b.id = :bookingId")
+    Optional<BookingView> findViewById(@Param("bookingId") Long bookingId);
 
-    Page<Booking> findAllByItem_Owner_IdOrderByStartDesc(Long ownerId, Pageable page);
+    @Query("select b.id as id, b.start as bookingStart, b.end as bookingEnd, b.status as status, " +
+            "i.id as itemId, i.name as itemName, i.description as itemDescription, i.available as itemAvailable, " +
+            "i.requestId as itemRequestId, i.owner.id as itemOwnerId, " +
+            "u.id as bookerId, u.name as bookerName, u.email as bookerEmail " +
+            "from Booking b join b.item i join b.booker u " +
+            "where b.id in :bookingIds")
+    List<BookingView> findViewsByIdIn(@Param("bookingIds") Collection<Long> bookingIds);
 
-    Page<Booking> findAllByItem_Owner_IdAndStatusOrderByStartDesc(Long ownerId, BookingStatus status, Pageable page);
+    // смена статуса одним условным запросом: возвращает 0, если запрос уже отвечен или вещь принадлежит не ownerId
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :status " +
+            "where b.id = :bookingId and b.status = :expectedStatus " +
+            "and b.item.id in (select i.id from Item i where i.owner.id = :ownerId)")
+    int updateStatusIfOwner(@Param("bookingId") Long bookingId, @Param("ownerId") Long ownerId,
+                            @Param("expectedStatus") BookingStatus expectedStatus,
+                            @Param("status") BookingStatus status);
 
-    List<Booking> findAllByBooker_IdAndItem_IdAndEndBeforeOrderByStartDesc(Long bookerId, Long itemId, LocalDateTime currentTime);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :status " +
+            "where b.id in :bookingIds and b.status = :expectedStatus " +
+            "and b.item.id in (select i.id from Item i where i.owner.id = :ownerId)")
+    int updateStatusesIfOwner(@Param("bookingIds") Collection<Long> bookingIds, @Param("ownerId") Long ownerId,
+                              @Param("expectedStatus") BookingStatus expectedStatus,
+                              @Param("status") BookingStatus status);
 
-    List<Booking> findAllByItem_IdAndStartBeforeAndStatusOrderByStartDesc(Long itemId, LocalDateTime currentTime, BookingStatus status);
+    // списки бронирований записаны явными запросами с join fetch: в производном запросе с графом сущностей условие
+    // по booker_id или owner_id переносится на присоединенную таблицу users, и индексы по внешним ключам
+    // (idx_bookings_booker_start, idx_items_owner_id) не используются
+    @Query(value = "select b from Booking b join fetch b.item join fetch b.booker " +
+            "where b.booker.id = :bookerId order by b.start desc",
+            countQuery = "select count(b) from Booking b where b.booker.id = :bookerId")
+    Page<Booking> findAllByBooker_IdOrderByStartDesc(@Param("bookerId") Long bookerId, Pageable page);
 
-    List<Booking> findAllByItem_IdAndStartAfterAndStatusOrderByStartDesc(Long itemId, LocalDateTime currentTime, BookingStatus status);
+    @Query(value = "select b from Booking b join fetch b.item join fetch b.booker " +
+            "where b.booker.id = :bookerId and b.status = :status order by b.start desc",
+            countQuery = "select count(b) from Booking b where b.booker.id = :bookerId and b.status = :status")
+    Page<Booking> findAllByBooker_IdAndStatusOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                              @Param("status") BookingStatus status, Pageable page);
+
+    @Query(value = "select b from Booking b join fetch b.item join fetch b.booker " +
+            "where b.booker.id = :bookerId and b.start < :startBefore and b.end > :endAfter order by b.start desc",
+            countQuery = "select count(b) from Booking b " +
+                    "where b.booker.id = :bookerId and b.start < :startBefore and b.end > :endAfter")
+    Page<Booking> findAllByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                                             @Param("startBefore") LocalDateTime startBefore,
+                                                                             @Param("endAfter") LocalDateTime endAfter,
+                                                                             Pageable page);
+
+    @Query(value = "select b from Booking b join fetch b.item join fetch b.booker " +
+            "where b.booker.id = :bookerId and b.end < :currentTime order by b.start desc",
+            countQuery = "select count(b) from Booking b where b.booker.id = :bookerId and b.end < :currentTime")
+    Page<Booking> findAllByBooker_IdAndEndBeforeOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                                 @Param("currentTime") LocalDateTime currentTime,
+                                                                 Pageable page);
+
+    @Query(value = "select b from Booking b join fetch b.item join fetch b.booker " +
+            "where b.booker.id = :bookerId and b.start > :currentTime order by b.start desc",
+            countQuery = "select count(b) from Booking b where b.booker.id = :bookerId and b.start > :currentTime")
+    Page<Booking> findAllByBooker_IdAndStartAfterOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                                  @Param("currentTime") LocalDateTime currentTime,
+                                                                  Pageable page);
+
+    @Query(value = "select b from Booking b join fetch b.item i join fetch b.booker " +
+            "where i.owner.id = :ownerId order by b.start desc",
+            countQuery = "select count(b) from Booking b where b.item.owner.id = :ownerId")
+    Page<Booking> findAllByItem_Owner_IdOrderByStartDesc(@Param("ownerId") Long ownerId, Pageable page);
+
+    @Query(value = "select b from Booking b join fetch b.item i join fetch b.booker " +
+            "where i.owner.id = :ownerId and b.status = :status order by b.start desc",
+            countQuery = "select count(b) from Booking b where b.item.owner.id = :ownerId and b.status = :status")
+    Page<Booking> findAllByItem_Owner_IdAndStatusOrderByStartDesc(@Param("ownerId") Long ownerId,
+                                                                  @Param("status") BookingStatus status, Pageable page);
+
+    @Query(value = "select b from Booking b join fetch b.item i join fetch b.booker " +
+            "where i.owner.id = :ownerId and b.start < :startBefore and b.end > :endAfter order by b.start desc",
+            countQuery = "select count(b) from Booking b " +
+                    "where b.item.owner.id = :ownerId and b.start < :startBefore and b.end > :endAfter")
+    Page<Booking> findAllByItem_Owner_IdAndStartBeforeAndEndAfterOrderByStartDesc(@Param("ownerId") Long ownerId,
+                                                                                 @Param("startBefore") LocalDateTime startBefore,
+                                                                                 @Param("endAfter") LocalDateTime endAfter,
+                                                                                 Pageable page);
+
+    @Query(value = "select b from Booking b join fetch b.item i join fetch b.booker " +
+            "where i.owner.id = :ownerId and b.end < :currentTime order by b.start desc",
+            countQuery = "select count(b) from Booking b where b.item.owner.id = :ownerId and b.end < :currentTime")
+    Page<Booking> findAllByItem_Owner_IdAndEndBeforeOrderByStartDesc(@Param("ownerId") Long ownerId,
+                                                                     @Param("currentTime") LocalDateTime currentTime,
+                                                                     Pageable page);
+
+    @Query(value = "select b from Booking b join fetch b.item i join fetch b.booker " +
+            "where i.owner.id = :ownerId and b.start > :currentTime order by b.start desc",
+            countQuery = "select count(b) from Booking b where b.item.owner.id = :ownerId and b.start > :currentTime")
+    Page<Booking> findAllByItem_Owner_IdAndStartAfterOrderByStartDesc(@Param("ownerId") Long ownerId,
+                                                                      @Param("currentTime") LocalDateTime currentTime,
+                                                                      Pageable page);
+
+    @Query("select b from Booking b join fetch b.item join fetch b.booker " +
+            "where b.booker.id = :bookerId and b.status in :statuses " +
+            "and b.start > :startAfter and b.start < :startBefore and b.end > :endAfter and b.end < :endBefore " +
+            "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId)) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findBookerBookingsAfterCursor(@Param("bookerId") Long bookerId,
+                                                 @Param("statuses") Collection<BookingStatus> statuses,
+                                                 @Param("startAfter") LocalDateTime startAfter,
+                                                 @Param("startBefore") LocalDateTime startBefore,
+                                                 @Param("endAfter") LocalDateTime endAfter,
+                                                 @Param("endBefore") LocalDateTime endBefore,
+                                                 @Param("cursorStart") LocalDateTime cursorStart,
+                                                 @Param("cursorId") Long cursorId,
+                                                 Pageable page);
+
+    @Query("select b from Booking b join fetch b.item i join fetch b.booker " +
+            "where i.owner.id = :ownerId and b.status in :statuses " +
+            "and b.start > :startAfter and b.start < :startBefore and b.end > :endAfter and b.end < :endBefore " +
+            "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId)) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findOwnerBookingsAfterCursor(@Param("ownerId") Long ownerId,
+                                                @Param("statuses") Collection<BookingStatus> statuses,
+                                                @Param("startAfter") LocalDateTime startAfter,
+                                                @Param("startBefore") LocalDateTime startBefore,
+                                                @Param("endAfter") LocalDateTime endAfter,
+                                                @Param("endBefore") LocalDateTime endBefore,
+                                                @Param("cursorStart") LocalDateTime cursorStart,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable page);
+
+    // запросы по вещи записаны явно по той же причине: производный запрос присоединяет items и users
+    // и ставит условие на их id вместо внешних ключей bookings
+    @Query("select b from Booking b " +
+            "where b.booker.id = :bookerId and b.item.id = :itemId and b.end < :currentTime order by b.start desc")
+    List<Booking> findAllByBooker_IdAndItem_IdAndEndBeforeOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                                          @Param("itemId") Long itemId,
+                                                                          @Param("currentTime") LocalDateTime currentTime);
+
+    @Query("select b from Booking b " +
+            "where b.item.id = :itemId and b.status = :status and b.end > :currentTime order by b.start")
+    List<Booking> findAllByItem_IdAndStatusAndEndAfterOrderByStartAsc(@Param("itemId") Long itemId,
+                                                                     @Param("status") BookingStatus status,
+                                                                     @Param("currentTime") LocalDateTime currentTime);
+
+    // последнее и следующее бронирование вещи: размер страницы ограничивает выборку первой записью
+    @Query("select b from Booking b " +
+            "where b.item.id = :itemId and b.status = :status and b.start < :currentTime order by b.start desc")
+    List<Booking> findLastBookings(@Param("itemId") Long itemId, @Param("status") BookingStatus status,
+                                   @Param("currentTime") LocalDateTime currentTime, Pageable page);
+
+    @Query("select b from Booking b " +
+            "where b.item.id = :itemId and b.status = :status and b.start > :currentTime order by b.start")
+    List<Booking> findNextBookings(@Param("itemId") Long itemId, @Param("status") BookingStatus status,
+                                   @Param("currentTime") LocalDateTime currentTime, Pageable page);
+
+    // для каждой вещи из списка - бронирования с последним началом до currentTime и с ближайшим началом после него
+    @Query("select b from Booking b " +
+            "where b.item.id in :itemIds and b.status = :status and (" +
+            "b.start = (select max(lb.start) from Booking lb " +
+            "where lb.item.id = b.item.id and lb.status = :status and lb.start < :currentTime) or " +
+            "b.start = (select min(nb.start) from Booking nb " +
+            "where nb.item.id = b.item.id and nb.status = :status and nb.start > :currentTime)) " +
+            "order by b.id")
+    List<Booking> findLastAndNextBookings(@Param("itemIds") Collection<Long> itemIds,
+                                          @Param("status") BookingStatus status,
+                                          @Param("currentTime") LocalDateTime currentTime);
 }
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// класс, предназначенный для ответа владельца на один из запросов на аренду в пакетном запросе
+@Data
+@AllArgsConstructor
+public class BookingAnswerDto {
+    private Long bookingId;
+    private Boolean approved;
+}
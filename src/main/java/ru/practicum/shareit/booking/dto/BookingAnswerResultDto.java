@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.BookingStatus;
+
+// класс, предназначенный на отправку клиенту результата ответа на запрос на аренду в пакетном запросе:
+// при ошибке status содержит текущий статус запроса (если он существует), а error - причину
+@Data
+@AllArgsConstructor
+public class BookingAnswerResultDto {
+    private Long bookingId;
+    private BookingStatus status;
+    private String error;
+}
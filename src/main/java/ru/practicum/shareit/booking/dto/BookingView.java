@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+// проекция запроса на аренду вместе с вещью и арендатором, читаемая из БД одним запросом
+public interface BookingView {
+    Long getId();
+
+    LocalDateTime getBookingStart();
+
+    LocalDateTime getBookingEnd();
+
+    BookingStatus getStatus();
+
+    Long getItemId();
+
+    String getItemName();
+
+    String getItemDescription();
+
+    Boolean getItemAvailable();
+
+    Long getItemRequestId();
+
+    Long getItemOwnerId();
+
+    Long getBookerId();
+
+    String getBookerName();
+
+    String getBookerEmail();
+}
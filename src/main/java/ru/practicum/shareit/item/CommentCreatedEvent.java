@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Событие добавления отзыва к вещи
+@Getter
+@AllArgsConstructor
+public class CommentCreatedEvent {
+    private final Long itemId;
+}
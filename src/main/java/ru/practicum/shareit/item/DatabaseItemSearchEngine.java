@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+// Поиск средствами БД: фильтрация по доступности и подстроке, а также пагинация выполняются в SQL.
+// На PostgreSQL условие обслуживается триграммными GIN-индексами из миграции db/migration/postgresql.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "database")
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable page) {
+        return itemRepository.searchAvailable(escapeLikePattern(text.toLowerCase()), page);
+    }
+
+    // символы шаблона LIKE во введенном тексте должны искаться буквально
+    static String escapeLikePattern(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
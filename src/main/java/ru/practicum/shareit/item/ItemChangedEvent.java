@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Item;
+
+// Событие создания или изменения вещи. Хранит копии вещи до и после изменения (previous == null при создании),
+// чтобы слушатели после коммита транзакции не обращались к сущностям из закрытого контекста персистентности.
+@Getter
+@AllArgsConstructor
+public class ItemChangedEvent {
+    private final Item previous;
+    private final Item current;
+
+    public static ItemChangedEvent of(Item previous, Item current) {
+        return new ItemChangedEvent(snapshot(previous), snapshot(current));
+    }
+
+    public static Item snapshot(Item item) {
+        if (item == null)
+            return null;
+        return new Item(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getRequestId(), null);
+    }
+}
@@ -2,10 +2,13 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.HeaderNames;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -19,13 +22,15 @@ public class ItemController {
     private final ItemService itemService;
 
     @GetMapping
-    public List<ItemDto> getUserItems(@RequestHeader(HeaderNames.USER_ID_HEADER) Long userId,
-                                      @RequestParam(required = false) Integer from,
-                                      @RequestParam(required = false) Integer size) {
+    public ResponseEntity<List<ItemDto>> getUserItems(@RequestHeader(HeaderNames.USER_ID_HEADER) Long userId,
+                                                      @RequestParam(required = false) Integer from,
+                                                      @RequestParam(required = false) Integer size) {
         log.info("Начало обработки запроса на получение всех вещей пользователя с id={}", userId);
-        List<ItemDto> itemsDto = itemService.getUserItems(userId, from, size);
+        Slice<ItemDto> itemsDto = itemService.getUserItems(userId, from, size);
         log.info("Завершение обработки запроса на получение всех вещей пользователя с id={}", userId);
-        return itemsDto;
+        return ResponseEntity.ok()
+                .header(HeaderNames.HAS_NEXT_HEADER, String.valueOf(itemsDto.hasNext()))
+                .body(itemsDto.getContent());
     }
 
     @GetMapping("/{itemId}")
@@ -64,6 +69,19 @@ public class ItemController {
         return createdCommentDto;
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getItemComments(@Positive @PathVariable Long itemId,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "20") Integer size) {
+        log.info("Начало обработки запроса на получение отзывов о вещи с id={} после курсора {}", itemId, cursor);
+        CursorPage<CommentDto> page = itemService.getItemCommentsAfterCursor(itemId, cursor, size);
+        log.info("Окончание обработки запроса на получение отзывов о вещи с id={} после курсора {}", itemId, cursor);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null)
+            response.header(HeaderNames.NEXT_CURSOR_HEADER, page.getNextCursor());
+        return response.body(page.getContent());
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestBody ItemDto updatedItemDto, @PathVariable @Positive Long itemId,
                               @RequestHeader(HeaderNames.USER_ID_HEADER) @Positive Long userId) {
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Кэш результатов поиска вещей с ограничением по размеру (LRU) и времени жизни записи.
+// Ключ - текст запроса в нижнем регистре и параметры пагинации. После коммита изменения вещи удаляются только те
+// записи, которые содержат эту вещь или которым она соответствовала до или после изменения.
+// Статистика попаданий, промахов и вытеснений публикуется в метриках cache.* с тегом cache=itemSearch.
+@Component
+public class ItemSearchCache implements MeterBinder {
+    private static final String CACHE_NAME = "itemSearch";
+
+    private final Cache<Key, List<ItemDto>> cache;
+    // счетчик инвалидаций: результат, вычисленный во время инвалидации, в кэш не попадает
+    private long invalidations;
+
+    public ItemSearchCache(@Value("${shareit.search.cache.maximum-size:1000}") long maximumSize,
+                           @Value("${shareit.search.cache.ttl:10m}") Duration ttl) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // метод, возвращающий результат из кэша либо вычисляющий его через search и сохраняющий в кэш
+    public List<ItemDto> get(String text, Integer from, Integer size, Supplier<List<ItemDto>> search) {
+        Key key = new Key(text.toLowerCase(), from, size);
+        List<ItemDto> items = cache.getIfPresent(key);
+        if (items != null)
+            return items;
+
+        long version = getInvalidations();
+        items = search.get();
+        synchronized (this) {
+            if (version == invalidations)
+                cache.put(key, items);
+        }
+        return items;
+    }
+
+    // после обновления ItemSearchIndex
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Item previous = event.getPrevious();
+        Item current = event.getCurrent();
+        if (previous != null && Objects.equals(previous.getName(), current.getName())
+                && Objects.equals(previous.getDescription(), current.getDescription())
+                && Objects.equals(previous.getAvailable(), current.getAvailable()))
+            return;
+        invalidate(key -> contains(cache.getIfPresent(key), current.getId())
+                || matches(previous, key.getText())
+                || matches(current, key.getText()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentCreated(CommentCreatedEvent event) {
+        invalidate(key -> contains(cache.getIfPresent(key), event.getItemId()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    private synchronized void invalidate(Predicate<Key> condition) {
+        invalidations++;
+        cache.invalidateAll(cache.asMap()
+                .keySet()
+                .stream()
+                .filter(condition)
+                .collect(Collectors.toList()));
+    }
+
+    private static boolean contains(List<ItemDto> items, Long itemId) {
+        return items != null && items.stream().anyMatch(item -> item.getId().equals(itemId));
+    }
+
+    private static boolean matches(Item item, String text) {
+        return item != null && Boolean.TRUE.equals(item.getAvailable())
+                && (item.getName() != null && item.getName().toLowerCase().contains(text)
+                || item.getDescription() != null && item.getDescription().toLowerCase().contains(text));
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class Key {
+        private final String text;
+        private final Integer from;
+        private final Integer size;
+    }
+}
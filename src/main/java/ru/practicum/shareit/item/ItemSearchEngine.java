@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+// Способ поиска доступных вещей по подстроке в названии или описании, выбирается свойством shareit.search.mode:
+// index (по умолчанию) - индекс в памяти приложения, database - запрос к БД.
+// Пагинация применяется к уже отфильтрованным вещам.
+public interface ItemSearchEngine {
+    List<Item> search(String text, Pageable page);
+}
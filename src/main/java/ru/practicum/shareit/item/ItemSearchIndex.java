@@ -0,0 +1,211 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Инвертированный индекс доступных вещей в памяти. Названия и описания приводятся к нижнему регистру и
+// разбиваются на триграммы, поэтому поиск подстроки сводится к пересечению списков вещей по триграммам запроса
+// с последующей проверкой кандидатов. Найденные вещи ранжируются по BM25, совпадение в названии весит больше.
+// Используется как ItemSearchEngine по умолчанию (shareit.search.mode=index).
+// Индекс строится при старте приложения и обновляется после коммита транзакций, создающих или изменяющих вещи.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "index", matchIfMissing = true)
+public class ItemSearchIndex implements ItemSearchEngine {
+    private static final int GRAM_LENGTH = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double NAME_WEIGHT = 2.0;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private long totalNameLength;
+    private long totalDescriptionLength;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        // вещи читаются под блокировкой записи: изменение, закоммиченное во время чтения, применится после
+        // перестроения, а не будет стерто им
+        lock.writeLock().lock();
+        try {
+            List<Item> items = itemRepository.findAll();
+            documents.clear();
+            postings.clear();
+            totalNameLength = 0;
+            totalDescriptionLength = 0;
+            items.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // индекс обновляется раньше, чем ItemSearchCache удаляет устаревшие результаты: иначе поиск, начатый между
+    // инвалидацией и обновлением индекса, сохранил бы в кэш старый результат до истечения времени жизни
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Item item = event.getCurrent();
+        lock.writeLock().lock();
+        try {
+            remove(item.getId());
+            add(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable page) {
+        List<Long> itemIds = page.isPaged()
+                ? searchIds(text, (int) page.getOffset(), page.getPageSize())
+                : searchIds(text, 0, Integer.MAX_VALUE);
+        if (itemIds.isEmpty())
+            return Collections.emptyList();
+        Map<Long, Item> items = itemRepository.findAllById(itemIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        // порядок id задан индексом по релевантности
+        return itemIds
+                .stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // метод, возвращающий id доступных вещей, в названии или описании которых встречается text,
+    // в порядке убывания релевантности; offset и limit применяются после фильтрации
+    public List<Long> searchIds(String text, int offset, int limit) {
+        String query = text.toLowerCase();
+        lock.readLock().lock();
+        try {
+            List<Document> matched = findCandidates(query)
+                    .stream()
+                    .map(documents::get)
+                    .filter(document -> document.name.contains(query) || document.description.contains(query))
+                    .collect(Collectors.toList());
+            if (matched.isEmpty())
+                return Collections.emptyList();
+
+            double idf = Math.log(1 + (documents.size() - matched.size() + 0.5) / (matched.size() + 0.5));
+            double averageNameLength = (double) totalNameLength / documents.size();
+            double averageDescriptionLength = (double) totalDescriptionLength / documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+            for (Document document : matched) {
+                double score = NAME_WEIGHT * termScore(document.name, query, averageNameLength)
+                        + termScore(document.description, query, averageDescriptionLength);
+                scores.put(document.id, idf * score);
+            }
+
+            return scores.entrySet()
+                    .stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // запросы короче триграммы проверяются по всем документам индекса, не обращаясь к БД
+    private Collection<Long> findCandidates(String query) {
+        if (query.length() < GRAM_LENGTH)
+            return documents.keySet();
+        List<Set<Long>> gramPostings = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> itemIds = postings.get(gram);
+            if (itemIds == null)
+                return Collections.emptySet();
+            gramPostings.add(itemIds);
+        }
+        gramPostings.sort(Comparator.comparingInt(Set::size));
+        Set<Long> candidates = new HashSet<>(gramPostings.get(0));
+        for (int i = 1; i < gramPostings.size() && !candidates.isEmpty(); i++)
+            candidates.retainAll(gramPostings.get(i));
+        return candidates;
+    }
+
+    private void add(Item item) {
+        if (!Boolean.TRUE.equals(item.getAvailable()))
+            return;
+        Document document = new Document(item.getId(), normalize(item.getName()), normalize(item.getDescription()));
+        documents.put(document.id, document);
+        totalNameLength += document.name.length();
+        totalDescriptionLength += document.description.length();
+        for (String gram : grams(document.name + "\n" + document.description))
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(document.id);
+    }
+
+    private void remove(Long itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null)
+            return;
+        totalNameLength -= document.name.length();
+        totalDescriptionLength -= document.description.length();
+        for (String gram : grams(document.name + "\n" + document.description)) {
+            Set<Long> itemIds = postings.get(gram);
+            itemIds.remove(itemId);
+            if (itemIds.isEmpty())
+                postings.remove(gram);
+        }
+    }
+
+    // вклад поля в BM25: частота вхождений запроса с поправкой на длину поля относительно средней
+    private static double termScore(String field, String query, double averageLength) {
+        int frequency = countOccurrences(field, query);
+        if (frequency == 0)
+            return 0;
+        double lengthNorm = averageLength == 0 ? 1 : field.length() / averageLength;
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * lengthNorm));
+    }
+
+    private static int countOccurrences(String field, String query) {
+        int count = 0;
+        for (int index = field.indexOf(query); index >= 0; index = field.indexOf(query, index + query.length()))
+            count++;
+        return count;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++)
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase();
+    }
+
+    private static class Document {
+        private final Long id;
+        private final String name;
+        private final String description;
+
+        private Document(Long id, String name, String description) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package ru.practicum.shareit.item;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,34 +18,54 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dao.CommentRepository;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.dto.CommentWithCountView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dao.RequestRepository;
-import ru.practicum.shareit.request.model.Request;
-import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.UserLookup;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class ItemService {
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final RequestRepository requestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSearchCache itemSearchCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int commentsLimit;
+
+    public ItemService(ItemRepository itemRepository, UserLookup userLookup, BookingRepository bookingRepository,
+                       CommentRepository commentRepository, RequestRepository requestRepository,
+                       ItemSearchEngine itemSearchEngine, ItemSearchCache itemSearchCache,
+                       ApplicationEventPublisher eventPublisher,
+                       @Value("${shareit.item.comments-limit:10}") int commentsLimit) {
+        this.itemRepository = itemRepository;
+        this.userLookup = userLookup;
+        this.bookingRepository = bookingRepository;
+        this.commentRepository = commentRepository;
+        this.requestRepository = requestRepository;
+        this.itemSearchEngine = itemSearchEngine;
+        this.itemSearchCache = itemSearchCache;
+        this.eventPublisher = eventPublisher;
+        this.commentsLimit = commentsLimit;
+    }
 
     @Transactional(readOnly = true)
-    public List<ItemDto> getUserItems(Long userId, Integer from, Integer size) {
-        checkUser(userId);
+    public Slice<ItemDto> getUserItems(Long userId, Integer from, Integer size) {
+        userLookup.checkExists(userId);
         Pageable page = null;
         if (from != null && size != null) {
             if (from < 0 || size <= 0)
@@ -53,50 +74,54 @@ public class ItemService {
             page = PageRequest.of(from / size, size, sort);
         }
 
-        Page<Item> items = itemRepository.findAllByOwner_IdOrderById(userId, page);
+        Slice<Item> items = itemRepository.findAllByOwner_IdOrderById(userId, page);
         List<Long> itemIds = items.getContent()
                 .stream()
                 .map(Item::getId)
                 .collect(Collectors.toList());
-        List<Comment> comments = commentRepository.findAllByItem_IdIn(itemIds);
-        return items.getContent()
-                .stream()
-                .map(item -> ItemMapper.toItemWithBookingsDto(item, comments
-                                .stream()
-                                .filter(comment -> comment.getItem().getId().equals(item.getId()))
-                                .collect(Collectors.toList()),
-                        findLastBooking(item.getId()),
-                        findNextBooking(item.getId())))
-                .collect(Collectors.toList());
+        List<CommentWithCountView> comments = findLatestComments(itemIds);
+        Map<Long, List<CommentDto>> commentsByItemId = CommentMapper.toCommentDtosByItemId(comments);
+        Map<Long, Long> commentsCountByItemId = CommentMapper.toCommentsCountByItemId(comments);
+
+        LocalDateTime currentTime = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = new HashMap<>();
+        Map<Long, Booking> nextBookings = new HashMap<>();
+        for (Booking booking : bookingRepository.findLastAndNextBookings(itemIds, BookingStatus.APPROVED,
+                currentTime)) {
+            if (booking.getStart().isBefore(currentTime))
+                lastBookings.putIfAbsent(booking.getItem().getId(), booking);
+            else
+                nextBookings.putIfAbsent(booking.getItem().getId(), booking);
+        }
+
+        return items.map(item -> ItemMapper.toItemWithBookingsDto(item,
+                commentsByItemId.getOrDefault(item.getId(), Collections.emptyList()),
+                commentsCountByItemId.getOrDefault(item.getId(), 0L),
+                lastBookings.get(item.getId()),
+                nextBookings.get(item.getId())));
     }
 
     @Transactional(readOnly = true)
     public ItemDto getItem(Long itemId, Long userId) {
-        checkUser(userId);
+        userLookup.checkExists(userId);
         Item item = checkItem(itemId);
-        List<Comment> comments = commentRepository.findAllByItem_Id(itemId);
-        if (item.getOwner().getId().equals(userId))
-            return ItemMapper.toItemWithBookingsDto(item, comments, findLastBooking(itemId), findNextBooking(itemId));
-        else
-            return ItemMapper.toItemWithoutBookingsDto(item, comments);
+        return toItemDto(item, item.getOwner().getId().equals(userId));
     }
 
     @Transactional
     public ItemDto createItem(ItemDto itemDto, Long ownerId) {
         ItemValidator.checkAllFields(itemDto);
-        User owner = checkUser(ownerId);
-        Request request = checkRequest(itemDto.getRequestId());
-        Item createdItem = itemRepository.save(ItemMapper.toItem(itemDto, request, owner));
-        if (request != null) {
-            request.getItems().add(createdItem);
-            requestRepository.save(request);
-        }
-        return ItemMapper.toItemWithoutBookingsDto(createdItem, Collections.emptyList());
+        User owner = userLookup.getReference(ownerId);
+        checkRequest(itemDto.getRequestId());
+        // связь с запросом задается только столбцом items.request_id, коллекция Request.items не загружается
+        Item createdItem = itemRepository.save(ItemMapper.toItem(itemDto, itemDto.getRequestId(), owner));
+        eventPublisher.publishEvent(ItemChangedEvent.of(null, createdItem));
+        return ItemMapper.toItemWithoutBookingsDto(createdItem, Collections.emptyList(), 0L);
     }
 
     @Transactional
     public CommentDto createComment(CommentDto commentDto, Long itemId, Long authorId) {
-        User author = checkUser(authorId);
+        User author = userLookup.getReference(authorId);
         Item item = checkItem(itemId);
         commentDto.setCreated(LocalDateTime.now());
         Comment comment = CommentMapper.toComment(commentDto, item, author);
@@ -104,17 +129,35 @@ public class ItemService {
                 .isEmpty())
             throw new UserHaveNotRentedItemException("Пользователь с id=" + authorId + " не может комментировать вещь с id=" +
                     itemId + ", т.к. не арендовал ее ранее");
-        return CommentMapper.toCommentDto(commentRepository.save(comment));
+        CommentDto createdCommentDto = CommentMapper.toCommentDto(commentRepository.save(comment));
+        eventPublisher.publishEvent(new CommentCreatedEvent(itemId));
+        return createdCommentDto;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDto> getItemCommentsAfterCursor(Long itemId, String cursor, Integer size) {
+        if (size == null || size <= 0)
+            throw new ValidationException("Параметр size должен быть следующего вида: size > 0");
+        if (!itemRepository.existsById(itemId))
+            throw new ObjectNotFoundException("Вещи с id=" + itemId + " не существует");
+        Cursor after = Cursor.decode(cursor);
+        Slice<CommentView> comments = commentRepository.findItemCommentsAfterCursor(itemId, after.getTimestamp(),
+                after.getId(), PageRequest.of(0, size));
+        return CursorPage.of(comments, CommentView::getCreated, CommentView::getId, content -> content
+                .stream()
+                .map(CommentMapper::toCommentDto)
+                .collect(Collectors.toList()));
     }
 
     @Transactional
     public ItemDto updateItem(ItemDto updatedItemDto, Long redactorId) {
         Item item = checkItem(updatedItemDto.getId());
-        checkUser(redactorId);
+        userLookup.checkExists(redactorId);
         if (!item.getOwner().getId().equals(redactorId))
             throw new NoAccessException("Пользователь с id=" + redactorId + " не является владельцем веши с id="
                     + item.getId());
         ItemValidator.checkNotNullFields(updatedItemDto);
+        Item previous = ItemChangedEvent.snapshot(item);
         if (updatedItemDto.getName() != null)
             item.setName(updatedItemDto.getName());
         if (updatedItemDto.getDescription() != null)
@@ -122,49 +165,64 @@ public class ItemService {
         if (updatedItemDto.getAvailable() != null)
             item.setAvailable(updatedItemDto.getAvailable());
 
-        return ItemMapper.toItemWithBookingsDto(itemRepository.save(item), commentRepository.findAllByItem_Id(item.getId()),
-                findLastBooking(item.getId()), findNextBooking(item.getId()));
+        Item updatedItem = itemRepository.save(item);
+        eventPublisher.publishEvent(ItemChangedEvent.of(previous, updatedItem));
+
+        return toItemDto(updatedItem, true);
 
     }
 
-    @Transactional
+    // без транзакции: ответ из кэша не требует соединения с БД
     public List<ItemDto> searchItems(String text, Integer from, Integer size) {
-        Pageable page = null;
+        Pageable page = Pageable.unpaged();
         if (from != null && size != null) {
             if (from < 0 || size <= 0)
                 throw new ValidationException("Параметры from и size должны быть следующего вида: from >= 0 size > 0");
-            Sort sort = Sort.by(Sort.Direction.DESC, "id");
-            page = PageRequest.of(from / size, size, sort);
+            page = PageRequest.of(from / size, size);
         }
         if (text == null || text.isBlank())
             return Collections.emptyList();
-        List<Item> items = null;
-        if (page == null)
-            items = itemRepository.findAll();
-        else
-            items = itemRepository.findAll(page).getContent();
+        Pageable searchPage = page;
+        return itemSearchCache.get(text, from, size, () -> findItems(text, searchPage));
+    }
+
+    private List<ItemDto> findItems(String text, Pageable page) {
+        List<Item> items = itemSearchEngine.search(text, page);
+        if (items.isEmpty())
+            return Collections.emptyList();
         List<Long> itemIds = items
                 .stream()
                 .map(Item::getId)
                 .collect(Collectors.toList());
-        List<Comment> comments = commentRepository.findAllByItem_IdIn(itemIds);
+        List<CommentWithCountView> comments = findLatestComments(itemIds);
+        Map<Long, List<CommentDto>> commentsByItemId = CommentMapper.toCommentDtosByItemId(comments);
+        Map<Long, Long> commentsCountByItemId = CommentMapper.toCommentsCountByItemId(comments);
         return items
                 .stream()
-                .filter(item -> item.getAvailable() &&
-                        (item.getName().toLowerCase().contains(text.toLowerCase())
-                                || item.getDescription().toLowerCase().contains(text.toLowerCase())))
-                .map(item -> ItemMapper.toItemWithoutBookingsDto(item, comments
-                        .stream()
-                        .filter(comment -> comment.getItem().getId().equals(item.getId()))
-                        .collect(Collectors.toList())))
+                .map(item -> ItemMapper.toItemWithoutBookingsDto(item,
+                        commentsByItemId.getOrDefault(item.getId(), Collections.emptyList()),
+                        commentsCountByItemId.getOrDefault(item.getId(), 0L)))
                 .collect(Collectors.toList());
     }
 
-    private User checkUser(Long userId) {
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isEmpty())
-            throw new ObjectNotFoundException("Пользователя с id=" + userId + " не существует");
-        return userOptional.get();
+    private List<CommentWithCountView> findLatestComments(Collection<Long> itemIds) {
+        if (itemIds.isEmpty())
+            return Collections.emptyList();
+        return commentRepository.findLatestViewsByItemIdIn(itemIds, commentsLimit);
+    }
+
+    private ItemDto toItemDto(Item item, boolean withBookings) {
+        List<CommentWithCountView> comments = findLatestComments(List.of(item.getId()));
+        List<CommentDto> commentDtos = comments
+                .stream()
+                .map(CommentMapper::toCommentDto)
+                .collect(Collectors.toList());
+        Long commentsCount = comments.isEmpty() ? 0L : comments.get(0).getCommentsCount();
+        if (withBookings)
+            return ItemMapper.toItemWithBookingsDto(item, commentDtos, commentsCount, findLastBooking(item.getId()),
+                    findNextBooking(item.getId()));
+        else
+            return ItemMapper.toItemWithoutBookingsDto(item, commentDtos, commentsCount);
     }
 
     private Item checkItem(Long itemId) {
@@ -174,28 +232,18 @@ public class ItemService {
         return itemOptional.get();
     }
 
-    private Request checkRequest(Long requestId) {
-        if (requestId == null)
-            return null;
-        Optional<Request> requestOptional = requestRepository.findById(requestId);
-        if (requestOptional.isEmpty())
+    private void checkRequest(Long requestId) {
+        if (requestId != null && !requestRepository.existsById(requestId))
             throw new ObjectNotFoundException("Запроса на вещь с id=" + requestId + " не существует");
-        return requestOptional.get();
     }
 
     private Booking findLastBooking(Long itemId) {
-        List<Booking> lastApprovedBookings = bookingRepository.findAllByItem_IdAndStartBeforeAndStatusOrderByStartDesc(itemId, LocalDateTime.now(), BookingStatus.APPROVED);
-        if (lastApprovedBookings.isEmpty())
-            return null;
-        else
-            return lastApprovedBookings.get(0);
+        return bookingRepository.findLastBookings(itemId, BookingStatus.APPROVED, LocalDateTime.now(),
+                PageRequest.of(0, 1)).stream().findFirst().orElse(null);
     }
 
     private Booking findNextBooking(Long itemId) {
-        List<Booking> futureApprovedBookings = bookingRepository.findAllByItem_IdAndStartAfterAndStatusOrderByStartDesc(itemId, LocalDateTime.now(), BookingStatus.APPROVED);
-        if (futureApprovedBookings.isEmpty())
-            return null;
-        else
-            return futureApprovedBookings.get(futureApprovedBookings.size() - 1);
+        return bookingRepository.findNextBookings(itemId, BookingStatus.APPROVED, LocalDateTime.now(),
+                PageRequest.of(0, 1)).stream().findFirst().orElse(null);
     }
 }
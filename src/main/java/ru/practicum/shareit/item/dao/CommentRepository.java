@@ -1,12 +1,44 @@
 package ru.practicum.shareit.item.dao;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.dto.CommentWithCountView;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItem_Id(Long itemId);
+    // не более limit последних отзывов каждой вещи из списка и общее число отзывов о вещи,
+    // внутри вещи отзывы упорядочены от старых к новым
+    @Query(value = "select c.\"itemId\", c.\"id\", c.\"text\", c.\"authorName\", c.\"created\", " +
+            "c.\"commentsCount\" " +
+            "from (select c.item_id as \"itemId\", c.id as \"id\", c.text as \"text\", u.name as \"authorName\", " +
+            "c.created as \"created\", " +
+            "row_number() over (partition by c.item_id order by c.created desc, c.id desc) as \"rowNumber\", " +
+            "count(*) over (partition by c.item_id) as \"commentsCount\" " +
+            "from comments c " +
+            "join users u on u.id = c.author_id " +
+            "where c.item_id in (:itemIds)) c " +
+            "where c.\"rowNumber\" <= :limit " +
+            "order by c.\"itemId\", c.\"created\", c.\"id\"",
+            nativeQuery = true)
+    List<CommentWithCountView> findLatestViewsByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                                         @Param("limit") int limit);
 
-    List<Comment> findAllByItem_IdIn(List<Long> itemIds);
+    @Query("select c.item.id as itemId, c.id as id, c.text as text, c.author.name as authorName, " +
+            "c.created as created " +
+            "from Comment c " +
+            "where c.item.id = :itemId " +
+            "and (c.created < :cursorCreated or (c.created = :cursorCreated and c.id < :cursorId)) " +
+            "order by c.created desc, c.id desc")
+    Slice<CommentView> findItemCommentsAfterCursor(@Param("itemId") Long itemId,
+                                                   @Param("cursorCreated") LocalDateTime cursorCreated,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable page);
 }
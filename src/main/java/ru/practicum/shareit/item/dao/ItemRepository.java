@@ -1,11 +1,32 @@
 package ru.practicum.shareit.item.dao;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemDtoForRequest;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
+import java.util.List;
+
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    Page<Item> findAllByOwner_IdOrderById(Long userId, Pageable page);
+    Slice<Item> findAllByOwner_IdOrderById(Long userId, Pageable page);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDtoForRequest(i.id, i.name, i.description, i.available, " +
+            "i.requestId) " +
+            "from Item i " +
+            "where i.requestId in :requestIds " +
+            "order by i.id")
+    List<ItemDtoForRequest> findAllForRequests(@Param("requestIds") Collection<Long> requestIds);
+
+    // text должен быть в нижнем регистре, символы '%', '_' и '\' в нем экранируются обратной косой чертой
+    @Query("select i from Item i " +
+            "where i.available = true and " +
+            "(lower(i.name) like concat('%', :text, '%') escape '\\' " +
+            "or lower(i.description) like concat('%', :text, '%') escape '\\') " +
+            "order by i.id")
+    List<Item> searchAvailable(@Param("text") String text, Pageable page);
 }
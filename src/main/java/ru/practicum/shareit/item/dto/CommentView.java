@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+// проекция отзыва вместе с id вещи и именем автора, читаемая из БД без загрузки сущностей
+public interface CommentView {
+    Long getItemId();
+
+    Long getId();
+
+    String getText();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+}
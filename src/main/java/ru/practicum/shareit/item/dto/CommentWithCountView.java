@@ -0,0 +1,6 @@
+package ru.practicum.shareit.item.dto;
+
+// проекция отзыва вместе с общим числом отзывов о вещи
+public interface CommentWithCountView extends CommentView {
+    Long getCommentsCount();
+}
@@ -14,7 +14,9 @@ public class ItemDto {
     private String description;
     private Boolean available;
     private Long requestId;
+    // последние отзывы о вещи, не более shareit.item.comments-limit; все отзывы - GET /items/{itemId}/comments
     private List<CommentDto> comments;
+    private Long commentsCount;
     private ResponseBookingForItemDto lastBooking;
     private ResponseBookingForItemDto nextBooking;
 }
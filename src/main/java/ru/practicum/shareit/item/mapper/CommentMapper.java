@@ -1,10 +1,16 @@
 package ru.practicum.shareit.item.mapper;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.dto.CommentWithCountView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 public class CommentMapper {
     // CommentDto --> Comment
     public static Comment toComment(CommentDto commentDto, Item item, User author) {
@@ -15,4 +21,25 @@ public class CommentMapper {
     public static CommentDto toCommentDto(Comment comment) {
         return new CommentDto(comment.getId(), comment.getText(), comment.getAuthor().getName(), comment.getCreated());
     }
+
+    // CommentView --> CommentDto
+    public static CommentDto toCommentDto(CommentView comment) {
+        return new CommentDto(comment.getId(), comment.getText(), comment.getAuthorName(), comment.getCreated());
+    }
+
+    // List<CommentView> --> Map<id вещи, List<CommentDto>>, порядок отзывов внутри вещи сохраняется
+    public static Map<Long, List<CommentDto>> toCommentDtosByItemId(List<? extends CommentView> comments) {
+        return comments
+                .stream()
+                .collect(Collectors.groupingBy(CommentView::getItemId,
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+    }
+
+    // List<CommentWithCountView> --> Map<id вещи, общее число отзывов>
+    public static Map<Long, Long> toCommentsCountByItemId(List<CommentWithCountView> comments) {
+        return comments
+                .stream()
+                .collect(Collectors.toMap(CommentWithCountView::getItemId, CommentWithCountView::getCommentsCount,
+                        (count, sameCount) -> count));
+    }
 }
@@ -2,38 +2,32 @@ package ru.practicum.shareit.item.mapper;
 
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoForRequest;
-import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 
 public class ItemMapper {
-    public static ItemDto toItemWithoutBookingsDto(Item item, List<Comment> comments) {
+    public static ItemDto toItemWithoutBookingsDto(Item item, List<CommentDto> comments, Long commentsCount) {
         return new ItemDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
                 item.getRequestId(),
-                comments
-                        .stream()
-                        .map(CommentMapper::toCommentDto)
-                        .collect(Collectors.toList()),
+                comments,
+                commentsCount,
                 null,
                 null
         );
     }
 
-    public static ItemDto toItemWithBookingsDto(Item item, List<Comment> comments, Booking lastBooking,
-                                                            Booking nextBooking) {
+    public static ItemDto toItemWithBookingsDto(Item item, List<CommentDto> comments, Long commentsCount,
+                                                Booking lastBooking, Booking nextBooking) {
         return new ItemDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
                 item.getRequestId(),
-                comments
-                        .stream()
-                        .map(CommentMapper::toCommentDto)
-                        .collect(Collectors.toList()),
+                comments,
+                commentsCount,
                 lastBooking == null ? null : BookingMapper.responseBookingForItemDto(lastBooking),
                 nextBooking == null ? null : BookingMapper.responseBookingForItemDto(nextBooking));
     }
@@ -43,8 +37,8 @@ public class ItemMapper {
                 item.getRequestId());
     }
 
-    public static Item toItem(ItemDto itemDto, Request request,  User owner) {
+    public static Item toItem(ItemDto itemDto, Long requestId, User owner) {
         return new Item(itemDto.getId(), itemDto.getName(), itemDto.getDescription(), itemDto.getAvailable(),
-                request == null ? null : request.getId(), owner);
+                requestId, owner);
     }
 }
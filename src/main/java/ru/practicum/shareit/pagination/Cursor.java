@@ -0,0 +1,44 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Позиция в выдаче, отсортированной по убыванию (время, id): следующая страница начинается строго после нее.
+// Неизменяемый, так как курсор первой страницы общий для всего приложения
+@Value
+public class Cursor {
+    // Курсор первой страницы: больше любой реальной пары (время, id)
+    public static final Cursor FIRST = new Cursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime timestamp;
+    Long id;
+
+    // Cursor --> непрозрачная строка для клиента
+    public static String encode(LocalDateTime timestamp, Long id) {
+        String value = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // строка клиента --> Cursor, пустая строка означает первую страницу
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return FIRST;
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = value.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0)
+                throw new ValidationException("Некорректный курсор: " + cursor);
+            return new Cursor(LocalDateTime.parse(value.substring(0, separatorIndex)),
+                    Long.parseLong(value.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Некорректный курсор: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+// Страница выдачи при постраничном просмотре по курсору; nextCursor равен null на последней странице
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+
+    // Slice, отсортированный по убыванию (время, id) --> страница с курсором на последний элемент
+    public static <E, T> CursorPage<T> of(Slice<E> slice, Function<E, LocalDateTime> timestamp,
+                                          Function<E, Long> id, Function<List<E>, List<T>> mapper) {
+        List<E> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            E last = content.get(content.size() - 1);
+            nextCursor = Cursor.encode(timestamp.apply(last), id.apply(last));
+        }
+        return new CursorPage<>(mapper.apply(content), nextCursor);
+    }
+}
@@ -2,8 +2,11 @@ package ru.practicum.shareit.request;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.HeaderNames;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.RequestDto;
 
 import javax.validation.Valid;
@@ -27,15 +30,34 @@ public class RequestController {
     }
 
     @GetMapping("/all")
-    public List<RequestDto> getAllRequests(@Positive @RequestHeader(HeaderNames.USER_ID_HEADER) Long userId,
-                                           @RequestParam(required = false) Integer from,
-                                           @RequestParam(required = false) Integer size) {
+    public ResponseEntity<List<RequestDto>> getAllRequests(
+            @Positive @RequestHeader(HeaderNames.USER_ID_HEADER) Long userId,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer size) {
         log.info("Начало обработки запроса на получение {} запросов, начиная с {}, пользователем с id={}",
                 size, from, userId);
-        List<RequestDto> requestsDto = requestService.getAllRequests(userId, from, size);
+        Slice<RequestDto> requestsDto = requestService.getAllRequests(userId, from, size);
         log.info("Окончание обработки запроса на получение {} запросов, начиная с {}, пользователем с id={}",
                 size, from, userId);
-        return requestsDto;
+        return ResponseEntity.ok()
+                .header(HeaderNames.HAS_NEXT_HEADER, String.valueOf(requestsDto.hasNext()))
+                .body(requestsDto.getContent());
+    }
+
+    @GetMapping(path = "/all", params = "cursor")
+    public ResponseEntity<List<RequestDto>> getAllRequestsAfterCursor(
+            @Positive @RequestHeader(HeaderNames.USER_ID_HEADER) Long userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") Integer size) {
+        log.info("Начало обработки запроса на получение {} запросов после курсора {} пользователем с id={}",
+                size, cursor, userId);
+        CursorPage<RequestDto> page = requestService.getAllRequestsAfterCursor(userId, cursor, size);
+        log.info("Окончание обработки запроса на получение {} запросов после курсора {} пользователем с id={}",
+                size, cursor, userId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null)
+            response.header(HeaderNames.NEXT_CURSOR_HEADER, page.getNextCursor());
+        return response.body(page.getContent());
     }
 
     @GetMapping("/{requestId}")
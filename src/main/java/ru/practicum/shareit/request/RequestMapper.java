@@ -1,12 +1,12 @@
 package ru.practicum.shareit.request;
 
-import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDtoForRequest;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Collections;
-import java.util.stream.Collectors;
+import java.util.List;
 
 public class RequestMapper {
 
@@ -16,10 +16,7 @@ public class RequestMapper {
     }
 
     // Request --> RequestDto
-    public static RequestDto toRequestDto(Request request) {
-        return new RequestDto(request.getId(), request.getDescription(), request.getCreated(),
-                request.getItems().stream()
-                        .map(ItemMapper::toItemDtoForRequest)
-                        .collect(Collectors.toList()));
+    public static RequestDto toRequestDto(Request request, List<ItemDtoForRequest> items) {
+        return new RequestDto(request.getId(), request.getDescription(), request.getCreated(), items);
     }
 }
@@ -1,49 +1,50 @@
 package ru.practicum.shareit.request;
 
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDtoForRequest;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dao.RequestRepository;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.model.Request;
-import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.UserLookup;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class RequestService {
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final ItemRepository itemRepository;
     private final RequestRepository requestRepository;
 
     @Transactional(readOnly = true)
     public List<RequestDto> getUserRequests(Long userId) {
-        checkUser(userId);
-        List<Request> requests = requestRepository.getAllByRequestor_IdOrderByCreatedDesc(userId);
-        return requests.stream()
-                .map(RequestMapper::toRequestDto)
-                .collect(Collectors.toList());
+        userLookup.checkExists(userId);
+        return toRequestDtos(requestRepository.getAllByRequestor_IdOrderByCreatedDesc(userId));
     }
 
     @Transactional(readOnly = true)
-    public List<RequestDto> getAllRequests(Long userId, Integer from, Integer size) {
-        checkUser(userId);
+    public Slice<RequestDto> getAllRequests(Long userId, Integer from, Integer size) {
+        userLookup.checkExists(userId);
 
         if (from == null && size == null)
-            return Collections.emptyList();
+            return new SliceImpl<>(Collections.emptyList());
 
         if (from == null || size == null || from < 0 || size <= 0)
             throw new ValidationException("Параметры from и size должны быть следующего вида: from >= 0 size > 0");
@@ -51,31 +52,55 @@ public class RequestService {
         Sort sort = Sort.by(Sort.Direction.DESC, "created");
         Pageable page = PageRequest.of(from / size, size, sort);
 
-        Page<Request> requestPage = requestRepository.getAllByRequestor_IdNotOrderByCreatedDesc(userId, page);
-        return requestPage.getContent().stream()
-                .map(RequestMapper::toRequestDto)
-                .collect(Collectors.toList());
+        Slice<Request> requests = requestRepository.getAllByRequestor_IdNotOrderByCreatedDesc(userId, page);
+        Map<Long, List<ItemDtoForRequest>> items = findRequestItems(requests.getContent());
+        return requests.map(request -> RequestMapper.toRequestDto(request,
+                items.getOrDefault(request.getId(), Collections.emptyList())));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<RequestDto> getAllRequestsAfterCursor(Long userId, String cursor, Integer size) {
+        userLookup.checkExists(userId);
+        if (size == null || size <= 0)
+            throw new ValidationException("Параметр size должен быть следующего вида: size > 0");
+        Cursor after = Cursor.decode(cursor);
+        Slice<Request> requests = requestRepository.findOtherUsersRequestsAfterCursor(userId, after.getTimestamp(),
+                after.getId(), PageRequest.of(0, size));
+        return CursorPage.of(requests, Request::getCreated, Request::getId, this::toRequestDtos);
     }
 
     @Transactional(readOnly = true)
     public RequestDto getRequestById(Long requestId, Long userId) {
-        checkUser(userId);
+        userLookup.checkExists(userId);
         Request request = requestRepository.findById(requestId)
                 .orElseThrow(() -> new ObjectNotFoundException("Запроса с id=" + requestId + " не существует"));
-        return RequestMapper.toRequestDto(request);
+        return RequestMapper.toRequestDto(request, itemRepository.findAllForRequests(List.of(requestId)));
     }
 
     public RequestDto createItemRequest(RequestDto requestDto, Long requestorId) {
         requestDto.setCreated(LocalDateTime.now());
-        User requestor = checkUser(requestorId);
-        return RequestMapper.toRequestDto(requestRepository.save(RequestMapper.toRequest(requestDto, requestor)));
+        User requestor = userLookup.getReference(requestorId);
+        return RequestMapper.toRequestDto(requestRepository.save(RequestMapper.toRequest(requestDto, requestor)),
+                Collections.emptyList());
     }
 
+    private List<RequestDto> toRequestDtos(List<Request> requests) {
+        Map<Long, List<ItemDtoForRequest>> items = findRequestItems(requests);
+        return requests.stream()
+                .map(request -> RequestMapper.toRequestDto(request,
+                        items.getOrDefault(request.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
 
-    private User checkUser(Long userId) {
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isEmpty())
-            throw new ObjectNotFoundException("Пользователя с id=" + userId + " не существует");
-        return userOptional.get();
+    // вещи, созданные в ответ на запросы страницы, загружаются одним запросом
+    private Map<Long, List<ItemDtoForRequest>> findRequestItems(List<Request> requests) {
+        if (requests.isEmpty())
+            return Collections.emptyMap();
+        List<Long> requestIds = requests.stream()
+                .map(Request::getId)
+                .collect(Collectors.toList());
+        return itemRepository.findAllForRequests(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(ItemDtoForRequest::getRequestId));
     }
 }
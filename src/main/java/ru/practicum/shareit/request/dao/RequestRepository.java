@@ -1,15 +1,27 @@
 package ru.practicum.shareit.request.dao;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.Request;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
 
     List<Request> getAllByRequestor_IdOrderByCreatedDesc(Long requestorId);
 
-    Page<Request> getAllByRequestor_IdNotOrderByCreatedDesc(Long requestorId, Pageable page);
+    Slice<Request> getAllByRequestor_IdNotOrderByCreatedDesc(Long requestorId, Pageable page);
+
+    @Query("select r from Request r " +
+            "where r.requestor.id <> :userId " +
+            "and (r.created < :cursorCreated or (r.created = :cursorCreated and r.id < :cursorId)) " +
+            "order by r.created desc, r.id desc")
+    Slice<Request> findOtherUsersRequestsAfterCursor(@Param("userId") Long userId,
+                                                     @Param("cursorCreated") LocalDateTime cursorCreated,
+                                                     @Param("cursorId") Long cursorId,
+                                                     Pageable page);
 }
@@ -2,11 +2,20 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.HeaderNames;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -14,9 +23,13 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 public class UserController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final UserService userService;
+    private final UserImportService userImportService;
 
-    @GetMapping
+    // полный список - только без параметров постраничного просмотра; afterId или size ведут в getUsersAfterId
+    @GetMapping(params = {"!afterId", "!size"})
     public List<UserDto> getUsers() {
         log.info("Начало обработки запроса на получение всех пользователей");
         List<UserDto> usersDto = userService.getUsers();
@@ -24,6 +37,27 @@ public class UserController {
         return usersDto;
     }
 
+    @GetMapping
+    public ResponseEntity<List<UserDto>> getUsersAfterId(@RequestParam(defaultValue = "0") Long afterId,
+                                                         @RequestParam(defaultValue = "20") Integer size) {
+        log.info("Начало обработки запроса на получение пользователей с id > {}", afterId);
+        Slice<UserDto> usersDto = userService.getUsersAfterId(afterId, size);
+        log.info("Завершение обработки запроса на получение пользователей с id > {}", afterId);
+        return ResponseEntity.ok()
+                .header(HeaderNames.HAS_NEXT_HEADER, String.valueOf(usersDto.hasNext()))
+                .body(usersDto.getContent());
+    }
+
+    // пользователи записываются в ответ по мере чтения из БД, без построения всего списка в памяти
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        log.info("Начало обработки запроса на выгрузку всех пользователей");
+        StreamingResponseBody body = userService::exportUsers;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{userId}")
     public UserDto getUser(@PathVariable Long userId) {
         log.info("Начало обработки запроса на получение пользователя с id={}", userId);
@@ -40,6 +74,18 @@ public class UserController {
         return createdUserDto;
     }
 
+    // тело читается потоком, в ответе - результат по каждой строке
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public List<UserImportResultDto> importUsers(InputStream body,
+                                                 @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType)
+            throws IOException {
+        log.info("Начало обработки запроса на массовое создание пользователей ({})", contentType);
+        List<UserImportResultDto> report = userImportService.importUsers(body,
+                MediaType.parseMediaType(TEXT_CSV_VALUE).isCompatibleWith(contentType));
+        log.info("Завершение обработки запроса на массовое создание пользователей: обработано строк {}", report.size());
+        return report;
+    }
+
     @PatchMapping("/{userId}")
     public UserDto updateUser(@RequestBody UserDto updatedUserDto, @PathVariable Long userId) {
         updatedUserDto.setId(userId);
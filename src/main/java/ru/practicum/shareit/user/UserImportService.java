@@ -0,0 +1,144 @@
+package ru.practicum.shareit.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
+import ru.practicum.shareit.user.model.User;
+
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Массовое создание пользователей из NDJSON (объект UserDto на строку) или CSV (строки "name,email",
+// необязательная первая строка заголовка). Тело читается построчно и обрабатывается порциями по CHUNK_SIZE строк:
+// занятые почты порции проверяются одним запросом, новые пользователи вставляются пакетами JDBC в отдельной
+// транзакции. Ошибка в строке не прерывает импорт, а попадает в отчет.
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+    static final int CHUNK_SIZE = 500;
+    private static final String CSV_HEADER = "name,email";
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public List<UserImportResultDto> importUsers(InputStream body, boolean csv) throws IOException {
+        List<UserImportResultDto> report = new ArrayList<>();
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        int lineNumber = 0;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lineNumber++;
+            if (line.isBlank() || (csv && lineNumber == 1 && line.trim().equalsIgnoreCase(CSV_HEADER)))
+                continue;
+            chunk.add(parse(line, lineNumber, csv));
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty())
+            importChunk(chunk, report);
+        return report;
+    }
+
+    private void importChunk(List<Row> chunk, List<UserImportResultDto> report) {
+        Set<String> emails = chunk.stream()
+                .filter(row -> row.error == null)
+                .map(row -> row.userDto.getEmail())
+                .collect(Collectors.toSet());
+        Set<String> usedEmails = emails.isEmpty() ? Collections.emptySet() : userRepository.findUsedEmails(emails);
+        Set<String> chunkEmails = new HashSet<>();
+        List<Row> accepted = new ArrayList<>();
+        for (Row row : chunk) {
+            if (row.error != null)
+                continue;
+            String email = row.userDto.getEmail();
+            if (usedEmails.contains(email) || !chunkEmails.add(email))
+                row.error = "Почта " + email + " уже используется";
+            else
+                accepted.add(row);
+        }
+
+        try {
+            save(accepted);
+        } catch (DataIntegrityViolationException e) {
+            // почту успел занять параллельный запрос: строки порции сохраняются по одной, чтобы найти конфликтные
+            for (Row row : accepted) {
+                try {
+                    save(List.of(row));
+                } catch (DataIntegrityViolationException rowException) {
+                    row.error = "Почта " + row.userDto.getEmail() + " уже используется";
+                }
+            }
+        }
+        chunk.forEach(row -> report.add(row.toResult()));
+    }
+
+    private void save(List<Row> rows) {
+        if (rows.isEmpty())
+            return;
+        List<User> users = transactionTemplate.execute(status -> userRepository.saveAll(rows.stream()
+                .map(row -> UserMapper.toUser(row.userDto))
+                .collect(Collectors.toList())));
+        for (int i = 0; i < rows.size(); i++)
+            rows.get(i).id = users.get(i).getId();
+    }
+
+    private Row parse(String line, int lineNumber, boolean csv) {
+        Row row = new Row(lineNumber);
+        try {
+            UserDto userDto = csv ? parseCsv(line) : objectMapper.readValue(line, UserDto.class);
+            userDto.setId(null);
+            UserValidator.checkAllFields(userDto);
+            if (!validator.validate(userDto).isEmpty())
+                throw new ValidationException("Некорректная почта пользователя: " + userDto.getEmail());
+            row.userDto = userDto;
+        } catch (JsonProcessingException e) {
+            row.error = "Строка не является JSON-объектом пользователя";
+        } catch (ValidationException e) {
+            row.error = e.getMessage();
+        }
+        return row;
+    }
+
+    // почта - последнее поле строки, поэтому имя может содержать запятые
+    private static UserDto parseCsv(String line) {
+        int separator = line.lastIndexOf(',');
+        if (separator < 0)
+            throw new ValidationException("Строка CSV должна иметь вид name,email");
+        return new UserDto(null, line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+    }
+
+    private static class Row {
+        private final int line;
+        private UserDto userDto;
+        private Long id;
+        private String error;
+
+        private Row(int line) {
+            this.line = line;
+        }
+
+        private UserImportResultDto toResult() {
+            if (error != null)
+                return new UserImportResultDto(line, UserImportStatus.REJECTED, null,
+                        userDto == null ? null : userDto.getEmail(), error);
+            return new UserImportResultDto(line, UserImportStatus.CREATED, id, userDto.getEmail(), null);
+        }
+    }
+}
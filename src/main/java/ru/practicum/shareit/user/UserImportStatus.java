@@ -0,0 +1,6 @@
+package ru.practicum.shareit.user;
+
+public enum UserImportStatus {
+    CREATED,
+    REJECTED
+}
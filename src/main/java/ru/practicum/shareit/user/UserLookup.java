@@ -0,0 +1,72 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+
+// Проверка существования пользователей для всех сервисов. Id существующих пользователей запоминаются
+// в ограниченном кэше, поэтому повторная проверка не обращается к БД. Отсутствие пользователя не кэшируется.
+// UserService удаляет пользователя из кэша при изменении и удалении, время жизни записи ограничивает
+// устаревание кэша при удалении пользователя в другом экземпляре приложения.
+@Component
+public class UserLookup implements MeterBinder {
+    private static final String CACHE_NAME = "userLookup";
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> existingUsers;
+
+    public UserLookup(UserRepository userRepository,
+                      @Value("${shareit.user-lookup.maximum-size:10000}") long maximumSize,
+                      @Value("${shareit.user-lookup.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        existingUsers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // метод, выбрасывающий ObjectNotFoundException, если пользователя не существует
+    public void checkExists(Long userId) {
+        if (userId != null && existingUsers.getIfPresent(userId) != null)
+            return;
+        if (userId == null || !userRepository.existsById(userId))
+            throw new ObjectNotFoundException("Пользователя с id=" + userId + " не существует");
+        existingUsers.put(userId, Boolean.TRUE);
+    }
+
+    // метод, возвращающий ссылку на существующего пользователя без загрузки его из БД
+    public User getReference(Long userId) {
+        checkExists(userId);
+        return userRepository.getReferenceById(userId);
+    }
+
+    // метод, удаляющий пользователя из кэша сразу и повторно после коммита текущей транзакции,
+    // чтобы параллельная проверка не вернула пользователя в кэш до фиксации изменений
+    public void evict(Long userId) {
+        existingUsers.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    existingUsers.invalidate(userId);
+                }
+            });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, existingUsers, CACHE_NAME);
+    }
+}
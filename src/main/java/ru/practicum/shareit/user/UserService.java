@@ -1,22 +1,34 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.EmailAlreadyUsedException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
+    private final UserLookup userLookup;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     @Transactional(readOnly = true)
     public List<UserDto> getUsers() {
@@ -26,6 +38,31 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public Slice<UserDto> getUsersAfterId(Long afterId, Integer size) {
+        if (size == null || size <= 0)
+            throw new ValidationException("Параметр size должен быть следующего вида: size > 0");
+        return userRepository.findAllByIdGreaterThanOrderById(afterId == null ? 0L : afterId, PageRequest.of(0, size))
+                .map(UserMapper::toUserDto);
+    }
+
+    // метод, записывающий всех пользователей в out в формате NDJSON (один JSON-объект на строку);
+    // каждый записанный пользователь отсоединяется от контекста персистентности, поэтому память не растет
+    // с числом пользователей
+    @Transactional(readOnly = true)
+    public void exportUsers(OutputStream out) throws IOException {
+        try (Stream<User> users = userRepository.streamAll()) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                out.write(objectMapper.writeValueAsBytes(UserMapper.toUserDto(user)));
+                out.write('\n');
+                entityManager.detach(user);
+            }
+        }
+        out.flush();
+    }
+
     @Transactional(readOnly = true)
     public UserDto getUser(Long userId) {
         User user = checkUser(userId);
@@ -36,7 +73,9 @@ public class UserService {
     public UserDto createUser(UserDto userDto) {
         UserValidator.checkAllFields(userDto);
         try {
-            return UserMapper.toUserDto(userRepository.save(UserMapper.toUser(userDto)));
+            // id берется из последовательности, поэтому без flush INSERT и нарушение уникальности почты
+            // произошли бы только при коммите
+            return UserMapper.toUserDto(userRepository.saveAndFlush(UserMapper.toUser(userDto)));
         } catch (Exception e) {
             throw new EmailAlreadyUsedException("На данный момент существует пользователь, зарегистрированный " +
                     "на почту: " + userDto.getEmail());
@@ -52,6 +91,7 @@ public class UserService {
         if (updatedUserDto.getEmail() != null) {
             user.setEmail(updatedUserDto.getEmail());
         }
+        userLookup.evict(user.getId());
         try {
             return UserMapper.toUserDto(userRepository.save(user));
         } catch (Exception e) {
@@ -62,8 +102,9 @@ public class UserService {
 
     @Transactional
     public void deleteUser(Long userId) {
-        checkUser(userId);
+        userLookup.checkExists(userId);
         userRepository.deleteById(userId);
+        userLookup.evict(userId);
     }
 
     private User checkUser(Long userId) {
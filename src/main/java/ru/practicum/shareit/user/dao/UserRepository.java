@@ -1,7 +1,30 @@
 package ru.practicum.shareit.user.dao;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Stream;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findUsedEmails(@Param("emails") Collection<String> emails);
+
+    Slice<User> findAllByIdGreaterThanOrderById(Long afterId, Pageable page);
+
+    // курсор только для чтения: строки забираются из БД порциями по fetch size и не попадают в кэш второго уровня
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select u from User u order by u.id")
+    Stream<User> streamAll();
 }
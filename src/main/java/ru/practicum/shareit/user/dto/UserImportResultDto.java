@@ -0,0 +1,15 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.user.UserImportStatus;
+
+@Data
+@AllArgsConstructor
+public class UserImportResultDto {
+    private int line; // номер строки в теле запроса, начиная с 1
+    private UserImportStatus status;
+    private Long id; // id созданного пользователя
+    private String email;
+    private String error; // причина отказа для REJECTED
+}
@@ -0,0 +1,90 @@
+-- шаг последовательностей совпадает с размером блока id, который Hibernate резервирует за одно обращение
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users
+(
+    id    BIGINT,
+    name  VARCHAR,
+    email VARCHAR UNIQUE,
+    CONSTRAINT pk_user PRIMARY KEY (id),
+    CONSTRAINT unq_user_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS requests
+(
+    id           BIGINT,
+    description  VARCHAR,
+    requestor_id BIGINT,
+    created      TIMESTAMP,
+    CONSTRAINT pk_request PRIMARY KEY (id),
+    CONSTRAINT fk_requestor FOREIGN KEY (requestor_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS items
+(
+    id          BIGINT,
+    name        VARCHAR,
+    description VARCHAR,
+    available   BOOLEAN,
+    request_id  BIGINT NULL,
+    owner_id    BIGINT,
+    CONSTRAINT pk_item PRIMARY KEY (id),
+    CONSTRAINT fk_user FOREIGN KEY (owner_id) REFERENCES users (id),
+    CONSTRAINT fk_request FOREIGN KEY (request_id) REFERENCES requests (id)
+);
+
+CREATE TABLE IF NOT EXISTS bookings
+(
+    id            BIGINT,
+    booking_start TIMESTAMP,
+    booking_end   TIMESTAMP,
+    item_id       BIGINT,
+    booker_id     BIGINT,
+    status        VARCHAR,
+    CONSTRAINT pk_booking PRIMARY KEY (id),
+    CONSTRAINT fk_booker FOREIGN KEY (booker_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS comments
+(
+    id        BIGINT,
+    text      VARCHAR,
+    author_id BIGINT,
+    created   TIMESTAMP WITHOUT TIME ZONE,
+    item_id   BIGINT,
+    CONSTRAINT pk_comment PRIMARY KEY (id),
+    CONSTRAINT fk_item FOREIGN KEY (item_id) REFERENCES items (id),
+    CONSTRAINT fk_author FOREIGN KEY (author_id) REFERENCES users (id)
+);
+
+-- Индексы подобраны под условия и сортировку запросов репозиториев, QueryPlanTest проверяет,
+-- что ни один из этих запросов не читает таблицу целиком.
+
+-- бронирования пользователя: booker_id = ? ... order by booking_start desc
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, booking_start);
+
+-- бронирования вещи, последнее и следующее подтвержденное: item_id = ? and status = ? and booking_start < / > ?
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, booking_start);
+
+-- вещи владельца (в т.ч. бронирования по владельцу через join): owner_id = ? order by id
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id, id);
+
+-- вещи, созданные в ответ на запросы: request_id in (...)
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+-- отзывы о вещи: item_id = ? order by created desc, id desc
+CREATE INDEX IF NOT EXISTS idx_comments_item_created_id ON comments (item_id, created, id);
+
+-- внешний ключ на автора: проверка при удалении пользователя
+CREATE INDEX IF NOT EXISTS idx_comments_author ON comments (author_id);
+
+-- запросы пользователя: requestor_id = ? order by created desc
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_created ON requests (requestor_id, created);
+
+-- запросы других пользователей: requestor_id <> ? order by created desc, id desc - читаются по индексу в порядке
+-- сортировки, поэтому направление столбцов совпадает с order by
+CREATE INDEX IF NOT EXISTS idx_requests_created_id ON requests (created DESC, id DESC);
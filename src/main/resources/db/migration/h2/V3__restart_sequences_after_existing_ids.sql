@@ -0,0 +1,8 @@
+-- БД, созданная schema.sql до перехода на миграции, принимается за версию 0 (spring.flyway.baseline-version):
+-- V1 добавляет в нее последовательности и индексы, а здесь последовательности продолжают существующие id.
+-- В новой БД таблицы пусты, и последовательности начинаются с 1
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM users);
+ALTER SEQUENCE requests_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM requests);
+ALTER SEQUENCE items_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM items);
+ALTER SEQUENCE bookings_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM bookings);
+ALTER SEQUENCE comments_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM comments);
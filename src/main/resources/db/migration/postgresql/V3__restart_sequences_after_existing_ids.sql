@@ -0,0 +1,8 @@
+-- БД, созданная schema.sql до перехода на миграции, принимается за версию 0 (spring.flyway.baseline-version):
+-- V1 добавляет в нее последовательности и индексы, а здесь последовательности продолжают существующие id.
+-- В новой БД таблицы пусты, и последовательности начинаются с 1
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 1, false) FROM users;
+SELECT setval('requests_seq', COALESCE(MAX(id), 0) + 1, false) FROM requests;
+SELECT setval('items_seq', COALESCE(MAX(id), 0) + 1, false) FROM items;
+SELECT setval('bookings_seq', COALESCE(MAX(id), 0) + 1, false) FROM bookings;
+SELECT setval('comments_seq', COALESCE(MAX(id), 0) + 1, false) FROM comments;
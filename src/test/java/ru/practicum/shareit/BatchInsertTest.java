@@ -0,0 +1,56 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DisplayName("Batch insert test")
+public class BatchInsertTest {
+    private static final int COUNT = 100;
+
+    private final EntityManager em;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("should insert bookings and comments in JDBC batches")
+    public void should_insert_bookings_and_comments_in_jdbc_batches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Item item = em.getReference(Item.class, 1L);
+        User user = em.getReference(User.class, 2L);
+        LocalDateTime start = LocalDateTime.now();
+        long inserts = statistics.getEntityInsertCount();
+        long statements = statistics.getPrepareStatementCount();
+
+        // вставки чередуются, hibernate.order_inserts группирует их по таблицам
+        for (int i = 0; i < COUNT; i++) {
+            em.persist(new Booking(null, start.plusDays(i), start.plusDays(i + 1), item, user, BookingStatus.WAITING));
+            em.persist(new Comment(null, "comment " + i, user, item, start));
+        }
+        em.flush();
+
+        // по 2 пакета на таблицу и по 2-3 обращения к каждой последовательности вместо 400 запросов
+        assertThat(statistics.getEntityInsertCount() - inserts, is(2L * COUNT));
+        assertThat(statistics.getPrepareStatementCount() - statements, lessThanOrEqualTo(10L));
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DisplayName("Entity cache test")
+public class EntityCacheTest {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("should read entities from second level cache in later sessions")
+    public void should_read_entities_from_second_level_cache_in_later_sessions() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        itemRepository.findById(1L);
+        userRepository.findById(1L);
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long statements = statistics.getPrepareStatementCount();
+
+        itemRepository.findById(1L);
+        userRepository.findById(1L);
+
+        assertThat(statistics.getSecondLevelCacheHitCount() - hits, is(2L));
+        assertThat(statistics.getPrepareStatementCount() - statements, is(0L));
+    }
+
+    @Test
+    @DisplayName("should publish second level cache metrics")
+    public void should_publish_second_level_cache_metrics() {
+        itemRepository.findById(1L);
+        itemRepository.findById(1L);
+
+        FunctionCounter itemHits = meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", Item.class.getName())
+                .tag("result", "hit")
+                .functionCounter();
+        assertThat(itemHits, is(notNullValue()));
+        assertThat(itemHits.count(), is(greaterThan(0.0)));
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DisplayName("Migration test")
+public class MigrationTest {
+
+    private final Flyway flyway;
+
+    @Test
+    @DisplayName("should apply schema and test data migrations")
+    public void should_apply_schema_and_test_data_migrations() {
+        assertThat(flyway.info().current().getVersion().getVersion(), is("1.1"));
+        assertThat(flyway.info().pending().length, is(0));
+        // повторный запуск не применяет уже примененные миграции и не трогает данные
+        assertThat(flyway.migrate().migrationsExecuted, is(0));
+    }
+
+    @Test
+    @DisplayName("should upgrade database created before migrations")
+    public void should_upgrade_database_created_before_migrations() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy/schema.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('name1', 'email1'), ('name2', 'email2')");
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (7, 'name7', 'email7')");
+
+        // настройки миграций совпадают с application.properties приложения
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR users_seq", Long.class), is(8L));
+        assertThat(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR items_seq", Long.class), is(1L));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES " +
+                "WHERE INDEX_NAME = 'IDX_BOOKINGS_BOOKER_START'", Integer.class), is(1));
+    }
+}
@@ -0,0 +1,177 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.item.dao.CommentRepository;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.request.dao.RequestRepository;
+import ru.practicum.shareit.user.dao.UserRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+// Для каждого запроса репозиториев на заполненной БД выполняется EXPLAIN того SQL, который построил Hibernate,
+// и проверяется, что в плане нет полного чтения таблицы (tableScan). Не проверяются только запросы, которые
+// по смыслу читают всю таблицу: findAll, выгрузка пользователей и поиск подстроки в ItemRepository.searchAvailable
+// (в PostgreSQL для него есть триграммные индексы из db/migration/postgresql).
+@Transactional
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.QueryPlanTest$SqlRecorder")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DisplayName("Query plan test")
+public class QueryPlanTest {
+    private static final List<String> RECORDED = Collections.synchronizedList(new ArrayList<>());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final RequestRepository requestRepository;
+    private final UserRepository userRepository;
+
+    private final LocalDateTime time = LocalDateTime.of(2023, 6, 1, 0, 0);
+    private final LocalDateTime from = time.minusYears(10);
+    private final LocalDateTime to = time.plusYears(10);
+    private final Pageable page = PageRequest.of(0, 10);
+    private final Collection<BookingStatus> statuses = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    // данные откатываются вместе с транзакцией теста
+    @BeforeEach
+    public void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email) " +
+                "SELECT x, 'user' || x, 'user' || x || '@email' FROM SYSTEM_RANGE(1000, 1999)");
+        jdbcTemplate.update("INSERT INTO requests (id, description, requestor_id, created) " +
+                "SELECT x, 'request' || x, 1000 + MOD(x, 1000), " +
+                "DATEADD('MINUTE', x, TIMESTAMP '2023-01-01 00:00:00') " +
+                "FROM SYSTEM_RANGE(1000, 2999)");
+        jdbcTemplate.update("INSERT INTO items (id, name, description, available, request_id, owner_id) " +
+                "SELECT x, 'item' || x, 'description' || x, TRUE, CASE WHEN MOD(x, 10) = 0 THEN x END, " +
+                "1000 + MOD(x, 1000) FROM SYSTEM_RANGE(1000, 2999)");
+        jdbcTemplate.update("INSERT INTO bookings (id, booking_start, booking_end, item_id, booker_id, status) " +
+                "SELECT x, DATEADD('HOUR', x, TIMESTAMP '2023-01-01 00:00:00'), " +
+                "DATEADD('HOUR', x + 2, TIMESTAMP '2023-01-01 00:00:00'), 1000 + MOD(x, 2000), " +
+                "1000 + MOD(x * 7, 1000), CASE WHEN MOD(x, 2) = 0 THEN 'APPROVED' ELSE 'WAITING' END " +
+                "FROM SYSTEM_RANGE(1000, 10999)");
+        jdbcTemplate.update("INSERT INTO comments (id, text, author_id, created, item_id) " +
+                "SELECT x, 'comment' || x, 1000 + MOD(x, 1000), " +
+                "DATEADD('MINUTE', x, TIMESTAMP '2023-01-01 00:00:00'), " +
+                "1000 + MOD(x, 2000) FROM SYSTEM_RANGE(1000, 5999)");
+    }
+
+    @Test
+    @DisplayName("should use indexes for booking queries")
+    public void should_use_indexes_for_booking_queries() {
+        assertIndexed(() -> bookingRepository.findById(1000L));
+        assertIndexed(() -> bookingRepository.findViewById(1000L));
+        assertIndexed(() -> bookingRepository.findViewsByIdIn(List.of(1000L, 1001L)));
+        assertIndexed(() -> bookingRepository.updateStatusIfOwner(1000L, 1000L, BookingStatus.WAITING,
+                BookingStatus.APPROVED));
+        assertIndexed(() -> bookingRepository.updateStatusesIfOwner(List.of(1000L, 1001L), 1000L,
+                BookingStatus.WAITING, BookingStatus.APPROVED));
+        assertIndexed(() -> bookingRepository.findAllByBooker_IdOrderByStartDesc(1000L, page));
+        assertIndexed(() -> bookingRepository.findAllByBooker_IdAndStatusOrderByStartDesc(1000L,
+                BookingStatus.WAITING, page));
+        assertIndexed(() -> bookingRepository.findAllByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(1000L,
+                time, time, page));
+        assertIndexed(() -> bookingRepository.findAllByBooker_IdAndEndBeforeOrderByStartDesc(1000L, time, page));
+        assertIndexed(() -> bookingRepository.findAllByBooker_IdAndStartAfterOrderByStartDesc(1000L, time, page));
+        assertIndexed(() -> bookingRepository.findAllByItem_Owner_IdOrderByStartDesc(1000L, page));
+        assertIndexed(() -> bookingRepository.findAllByItem_Owner_IdAndStatusOrderByStartDesc(1000L,
+                BookingStatus.WAITING, page));
+        assertIndexed(() -> bookingRepository.findAllByItem_Owner_IdAndStartBeforeAndEndAfterOrderByStartDesc(1000L,
+                time, time, page));
+        assertIndexed(() -> bookingRepository.findAllByItem_Owner_IdAndEndBeforeOrderByStartDesc(1000L, time, page));
+        assertIndexed(() -> bookingRepository.findAllByItem_Owner_IdAndStartAfterOrderByStartDesc(1000L, time, page));
+        assertIndexed(() -> bookingRepository.findBookerBookingsAfterCursor(1000L, statuses, from,
+                to, from, to, time, Long.MAX_VALUE, page));
+        assertIndexed(() -> bookingRepository.findOwnerBookingsAfterCursor(1000L, statuses, from,
+                to, from, to, time, Long.MAX_VALUE, page));
+        assertIndexed(() -> bookingRepository.findAllByBooker_IdAndItem_IdAndEndBeforeOrderByStartDesc(1000L, 1000L,
+                time));
+        assertIndexed(() -> bookingRepository.findAllByItem_IdAndStatusAndEndAfterOrderByStartAsc(1000L,
+                BookingStatus.APPROVED, time));
+        assertIndexed(() -> bookingRepository.findLastBookings(1000L, BookingStatus.APPROVED, time,
+                PageRequest.of(0, 1)));
+        assertIndexed(() -> bookingRepository.findNextBookings(1000L, BookingStatus.APPROVED, time,
+                PageRequest.of(0, 1)));
+        assertIndexed(() -> bookingRepository.findLastAndNextBookings(List.of(1000L, 1001L), BookingStatus.APPROVED,
+                time));
+    }
+
+    @Test
+    @DisplayName("should use indexes for item and comment queries")
+    public void should_use_indexes_for_item_and_comment_queries() {
+        assertIndexed(() -> itemRepository.findAllByOwner_IdOrderById(1000L, page));
+        assertIndexed(() -> itemRepository.findAllForRequests(List.of(1000L, 1010L)));
+        assertIndexed(() -> commentRepository.findLatestViewsByItemIdIn(List.of(1000L, 1001L), 10));
+        assertIndexed(() -> commentRepository.findItemCommentsAfterCursor(1000L, time, Long.MAX_VALUE, page));
+    }
+
+    @Test
+    @DisplayName("should use indexes for request and user queries")
+    public void should_use_indexes_for_request_and_user_queries() {
+        assertIndexed(() -> requestRepository.getAllByRequestor_IdOrderByCreatedDesc(1000L));
+        assertIndexed(() -> requestRepository.getAllByRequestor_IdNotOrderByCreatedDesc(1000L, page));
+        assertIndexed(() -> requestRepository.findOtherUsersRequestsAfterCursor(1000L, time, Long.MAX_VALUE, page));
+        assertIndexed(() -> userRepository.findUsedEmails(List.of("user1000@email", "user1001@email")));
+        assertIndexed(() -> userRepository.findAllByIdGreaterThanOrderById(1000L, page));
+    }
+
+    // выполняет вызов репозитория и проверяет планы всех запросов, которые он отправил в БД
+    private void assertIndexed(Runnable call) {
+        RECORDED.clear();
+        call.run();
+        List<String> statements = new ArrayList<>(RECORDED);
+        assertThat(statements, is(not(empty())));
+        for (String sql : statements)
+            assertThat(sql, explain(sql), not(containsString("tableScan")));
+    }
+
+    // значения параметров не влияют на выбор индекса в H2, поэтому вместо них подставляется null
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameterCount = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameterCount; i++)
+                    statement.setObject(i, null);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (resultSet.next())
+                        plan.append(resultSet.getString(1)).append('\n');
+                    return plan.toString();
+                }
+            }
+        });
+    }
+
+    // записывает SQL запросов на чтение и изменение, которые Hibernate отправляет в БД
+    public static class SqlRecorder implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            String statement = sql.trim().toLowerCase();
+            if (statement.startsWith("select") || statement.startsWith("update") || statement.startsWith("delete"))
+                RECORDED.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Тестовая БД каждый раз пересоздается с нуля: миграции схемы и тестовых данных (db/testdata) применяются
+// к пустой БД, как раньше schema.sql и data.sql.
+@Configuration
+public class TestDatabaseConfig {
+
+    @Bean
+    public FlywayMigrationStrategy cleanMigrateStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
@@ -9,10 +9,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.HeaderNames;
+import ru.practicum.shareit.booking.dto.BookingAnswerDto;
+import ru.practicum.shareit.booking.dto.BookingAnswerResultDto;
 import ru.practicum.shareit.booking.dto.RequestBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
@@ -22,6 +25,7 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.hamcrest.Matchers.*;
@@ -41,7 +45,7 @@ public class BookingControllerTest {
 
     private final RequestBookingDto requestBookingDto = new RequestBookingDto(null, LocalDateTime.now(), LocalDateTime.now());
     private final ResponseBookingDto responseBookingDto = new ResponseBookingDto(1L, LocalDateTime.now(), LocalDateTime.now(),
-            new ItemDto(1L, "name1", "description1", false, null, null, null, null),
+            new ItemDto(1L, "name1", "description1", false, null, null, null, null, null),
             new UserDto(1L, "name1", "email1@email"), BookingStatus.WAITING);
 
     @Test
@@ -127,6 +131,36 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id", is(1L), Long.class));
     }
 
+    @Test
+    @DisplayName("should return owner bookings page after cursor")
+    public void should_return_owner_bookings_page_after_cursor() throws Exception {
+        when(bookingService.getOwnerBookingsAfterCursor(anyString(), anyLong(), anyString(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(responseBookingDto), "next"));
+
+        mockMvc.perform(get("/bookings/owner?state=ALL&cursor=&size=1")
+                        .header(HeaderNames.USER_ID_HEADER, 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HeaderNames.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].id", is(1L), Long.class));
+    }
+
+    @Test
+    @DisplayName("should return last bookings page without next cursor")
+    public void should_return_last_bookings_page_without_next_cursor() throws Exception {
+        when(bookingService.getBookingsAfterCursor(anyString(), anyLong(), anyString(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(responseBookingDto), null));
+
+        mockMvc.perform(get("/bookings?cursor=")
+                        .header(HeaderNames.USER_ID_HEADER, 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HeaderNames.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$[0].id", is(1L), Long.class));
+    }
+
     @Test
     @DisplayName("should create booking")
     public void should_create_booking() throws Exception {
@@ -245,4 +279,39 @@ public class BookingControllerTest {
                         .characterEncoding(StandardCharsets.UTF_8))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("should answer on bookings in batch")
+    public void should_answer_on_bookings_in_batch() throws Exception {
+        when(bookingService.answerOnBookings(anyList(), anyLong()))
+                .thenReturn(List.of(new BookingAnswerResultDto(1L, BookingStatus.APPROVED, null),
+                        new BookingAnswerResultDto(2L, null, "error")));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .content(objectMapper.writeValueAsString(List.of(new BookingAnswerDto(1L, true),
+                                new BookingAnswerDto(2L, false))))
+                        .header(HeaderNames.USER_ID_HEADER, 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId", is(1L), Long.class))
+                .andExpect(jsonPath("$[0].status", is("APPROVED")))
+                .andExpect(jsonPath("$[1].error", is("error")));
+    }
+
+    @Test
+    @DisplayName("should not answer on bookings in batch due to invalid answers")
+    public void should_not_answer_on_bookings_in_batch_due_to_invalid_answers() throws Exception {
+        when(bookingService.answerOnBookings(anyList(), anyLong()))
+                .thenThrow(ValidationException.class);
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .content("[]")
+                        .header(HeaderNames.USER_ID_HEADER, 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isBadRequest());
+    }
 }
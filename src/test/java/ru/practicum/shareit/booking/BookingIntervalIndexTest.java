@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Booking interval index test")
+public class BookingIntervalIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @InjectMocks
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1);
+
+    @Test
+    @DisplayName("should detect overlap with approved booking")
+    public void should_detect_overlap_with_approved_booking() {
+        when(bookingRepository.findAllByItem_IdAndStatusAndEndAfterOrderByStartAsc(anyLong(),
+                eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(booking(base, base.plusDays(2))));
+
+        assertThat(bookingIntervalIndex.hasConflict(1L, base.plusDays(1), base.plusDays(3)), is(true));
+        assertThat(bookingIntervalIndex.hasConflict(1L, base.minusDays(1), base.plusHours(1)), is(true));
+        assertThat(bookingIntervalIndex.hasConflict(1L, base.plusDays(2), base.plusDays(3)), is(false));
+        assertThat(bookingIntervalIndex.hasConflict(1L, base.minusDays(1), base), is(false));
+    }
+
+    @Test
+    @DisplayName("should merge overlapping approved bookings on load")
+    public void should_merge_overlapping_approved_bookings_on_load() {
+        when(bookingRepository.findAllByItem_IdAndStatusAndEndAfterOrderByStartAsc(anyLong(),
+                eq(BookingStatus.APPROVED), any()))
+                .thenReturn(List.of(booking(base, base.plusDays(5)), booking(base.plusDays(1), base.plusDays(2))));
+
+        assertThat(bookingIntervalIndex.hasConflict(1L, base.plusDays(3), base.plusDays(4)), is(true));
+        assertThat(bookingIntervalIndex.hasConflict(1L, base.plusDays(5), base.plusDays(6)), is(false));
+    }
+
+    @Test
+    @DisplayName("should reserve interval only once")
+    public void should_reserve_interval_only_once() {
+        when(bookingRepository.findAllByItem_IdAndStatusAndEndAfterOrderByStartAsc(anyLong(),
+                eq(BookingStatus.APPROVED), any()))
+                .thenReturn(Collections.emptyList());
+
+        assertThat(bookingIntervalIndex.tryReserve(1L, base, base.plusDays(1)), is(true));
+        assertThat(bookingIntervalIndex.tryReserve(1L, base.plusHours(1), base.plusHours(2)), is(false));
+        assertThat(bookingIntervalIndex.tryReserve(1L, base.plusDays(1), base.plusDays(2)), is(true));
+        assertThat(bookingIntervalIndex.hasConflict(1L, base.plusHours(12), base.plusHours(36)), is(true));
+
+        verify(bookingRepository, times(1)).findAllByItem_IdAndStatusAndEndAfterOrderByStartAsc(anyLong(),
+                eq(BookingStatus.APPROVED), any());
+    }
+
+    @Test
+    @DisplayName("should release reserved interval")
+    public void should_release_reserved_interval() {
+        when(bookingRepository.findAllByItem_IdAndStatusAndEndAfterOrderByStartAsc(anyLong(),
+                eq(BookingStatus.APPROVED), any()))
+                .thenReturn(Collections.emptyList());
+
+        assertThat(bookingIntervalIndex.tryReserve(1L, base, base.plusDays(1)), is(true));
+        bookingIntervalIndex.release(1L, base, base.plusDays(1));
+
+        assertThat(bookingIntervalIndex.hasConflict(1L, base, base.plusDays(1)), is(false));
+    }
+
+    @Test
+    @DisplayName("should release reserved intervals on rollback only")
+    public void should_release_reserved_intervals_on_rollback_only() {
+        when(bookingRepository.findAllByItem_IdAndStatusAndEndAfterOrderByStartAsc(anyLong(),
+                eq(BookingStatus.APPROVED), any()))
+                .thenReturn(Collections.emptyList());
+
+        completeTransaction(() -> bookingIntervalIndex.tryReserve(1L, base, base.plusDays(1)),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(bookingIntervalIndex.hasConflict(1L, base, base.plusDays(1)), is(false));
+
+        completeTransaction(() -> bookingIntervalIndex.tryReserve(1L, base, base.plusDays(1)),
+                TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(bookingIntervalIndex.hasConflict(1L, base, base.plusDays(1)), is(true));
+    }
+
+    // имитация транзакции: действие выполняется при активной синхронизации, затем вызывается afterCompletion
+    private void completeTransaction(Runnable action, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Booking booking(LocalDateTime start, LocalDateTime end) {
+        return new Booking(null, start, end, null, null, BookingStatus.APPROVED);
+    }
+}
@@ -24,7 +24,7 @@ public class BookingMapperTest {
     private final Item item = new Item(1L, "name1", "description1", false, null,
             null);
     private final ItemDto itemDto = new ItemDto(1L, "name1", "description1", false,
-            null, null, null, null);
+            null, null, null, null, null);
     private final RequestBookingDto requestBookingDto = new RequestBookingDto(1L, LocalDateTime.now(),
             LocalDateTime.now());
     private final ResponseBookingDto responseBookingDto = new ResponseBookingDto(1L, LocalDateTime.now(),
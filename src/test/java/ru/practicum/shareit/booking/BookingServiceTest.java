@@ -2,21 +2,34 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingAnswerDto;
+import ru.practicum.shareit.booking.dto.BookingAnswerResultDto;
 import ru.practicum.shareit.booking.dto.RequestBookingDto;
 import ru.practicum.shareit.booking.dto.ResponseBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.*;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnitUtil;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
@@ -27,7 +40,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 public class BookingServiceTest {
 
     private final EntityManager em;
+    private final EntityManagerFactory entityManagerFactory;
     private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
 
     @Test
     @DisplayName("should return booking by id")
@@ -182,4 +197,153 @@ public class BookingServiceTest {
         assertThat(booking.getStatus(), is(BookingStatus.REJECTED));
     }
 
+    @Test
+    @DisplayName("should filter bookings by time state in query")
+    @Order(17)
+    public void should_filter_bookings_by_time_state_in_query() {
+        assertThat(bookingService.getBookings("PAST", 2L, 0, 1).get(0).getId(), is(1L));
+        assertThat(bookingService.getBookings("CURRENT", 2L, 0, 1).size(), is(0));
+        assertThat(bookingService.getBookings("FUTURE", 2L, 0, 1).size(), is(0));
+        assertThat(bookingService.getOwnerBookings("PAST", 1L, 0, 1).get(0).getId(), is(1L));
+        assertThat(bookingService.getOwnerBookings("CURRENT", 1L, 0, 1).size(), is(0));
+        assertThat(bookingService.getOwnerBookings("FUTURE", 1L, 0, 1).size(), is(0));
+    }
+
+    @Test
+    @DisplayName("should return bookings page after cursor")
+    @Order(18)
+    public void should_return_bookings_page_after_cursor() {
+        CursorPage<ResponseBookingDto> bookerPage = bookingService.getBookingsAfterCursor("ALL", 2L, "", 1);
+        CursorPage<ResponseBookingDto> ownerPage = bookingService.getOwnerBookingsAfterCursor("PAST", 1L, "", 1);
+
+        assertThat(bookerPage.getContent().get(0).getId(), is(1L));
+        assertThat(bookerPage.getNextCursor(), is(nullValue()));
+        assertThat(ownerPage.getContent().get(0).getId(), is(1L));
+        assertThat(bookingService.getOwnerBookingsAfterCursor("FUTURE", 1L, "", 1).getContent().size(), is(0));
+    }
+
+    @Test
+    @DisplayName("should throw exception due to invalid cursor parameters")
+    @Order(19)
+    public void should_throw_exception_due_to_invalid_cursor_parameters() {
+        assertThrows(ValidationException.class, () -> bookingService.getBookingsAfterCursor("ALL", 2L, "", 0));
+        assertThrows(ValidationException.class, () -> bookingService.getBookingsAfterCursor("ALL", 2L, "?", 1));
+        assertThrows(ValidationException.class, () -> bookingService.getOwnerBookingsAfterCursor("aaa", 1L, "", 1));
+    }
+
+    @Test
+    @DisplayName("should return answered booking built from projection")
+    @Order(20)
+    public void should_return_answered_booking_built_from_projection() {
+        ResponseBookingDto responseBookingDto = bookingService.answerOnBooking(1L, false, 1L);
+
+        assertThat(responseBookingDto.getId(), is(1L));
+        assertThat(responseBookingDto.getStatus(), is(BookingStatus.REJECTED));
+        assertThat(responseBookingDto.getItem().getId(), is(1L));
+        assertThat(responseBookingDto.getItem().getName(), is("name1"));
+        assertThat(responseBookingDto.getBooker().getId(), is(2L));
+        assertThat(responseBookingDto.getBooker().getEmail(), is("email2@email"));
+    }
+
+    @Test
+    @DisplayName("should not answer on non-existent booking")
+    @Order(21)
+    public void should_not_answer_on_non_existent_booking() {
+        assertThrows(ObjectNotFoundException.class, () -> bookingService.answerOnBooking(-1L, true, 1L));
+    }
+
+    @Test
+    @DisplayName("should answer on bookings in batch")
+    @Order(22)
+    public void should_answer_on_bookings_in_batch() {
+        List<BookingAnswerResultDto> results = bookingService.answerOnBookings(
+                List.of(new BookingAnswerDto(1L, true), new BookingAnswerDto(999L, true)), 1L);
+
+        TypedQuery<Booking> query = em.createQuery("select b from Booking as b where id=:id", Booking.class);
+        Booking booking = query.setParameter("id", 1L).getSingleResult();
+
+        assertThat(booking.getStatus(), is(BookingStatus.APPROVED));
+        assertThat(results.get(0).getBookingId(), is(1L));
+        assertThat(results.get(0).getStatus(), is(BookingStatus.APPROVED));
+        assertThat(results.get(0).getError(), is(nullValue()));
+        assertThat(results.get(1).getBookingId(), is(999L));
+        assertThat(results.get(1).getError(), is(notNullValue()));
+    }
+
+    @Test
+    @DisplayName("should report per-booking errors in batch")
+    @Order(23)
+    public void should_report_per_booking_errors_in_batch() {
+        List<BookingAnswerResultDto> notOwnerResults = bookingService.answerOnBookings(
+                List.of(new BookingAnswerDto(1L, true)), 3L);
+        bookingService.answerOnBooking(1L, false, 1L);
+        List<BookingAnswerResultDto> answeredResults = bookingService.answerOnBookings(
+                List.of(new BookingAnswerDto(1L, true)), 1L);
+
+        assertThat(notOwnerResults.get(0).getError(), is(notNullValue()));
+        assertThat(answeredResults.get(0).getStatus(), is(BookingStatus.REJECTED));
+        assertThat(answeredResults.get(0).getError(), is(notNullValue()));
+    }
+
+    @Test
+    @DisplayName("should load booking associations lazily unless fetched by graph")
+    @Order(24)
+    public void should_load_booking_associations_lazily_unless_fetched_by_graph() {
+        PersistenceUnitUtil persistenceUnitUtil = em.getEntityManagerFactory().getPersistenceUnitUtil();
+
+        Booking lazyBooking = em.find(Booking.class, 1L);
+        assertThat(persistenceUnitUtil.isLoaded(lazyBooking, "item"), is(false));
+        assertThat(persistenceUnitUtil.isLoaded(lazyBooking, "booker"), is(false));
+        em.clear();
+
+        Booking fetchedBooking = bookingRepository.findById(1L).get();
+        assertThat(persistenceUnitUtil.isLoaded(fetchedBooking, "item"), is(true));
+        assertThat(persistenceUnitUtil.isLoaded(fetchedBooking, "booker"), is(true));
+    }
+
+    @Test
+    @DisplayName("should approve future booking of item not loaded into interval index")
+    @Order(25)
+    public void should_approve_future_booking_of_item_not_loaded_into_interval_index() {
+        Item item = new Item(null, "item", "new item", true, null, em.getReference(User.class, 1L));
+        em.persist(item);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = new Booking(null, start, start.plusDays(1), item, em.getReference(User.class, 2L),
+                BookingStatus.WAITING);
+        em.persist(booking);
+        em.flush();
+
+        ResponseBookingDto responseBookingDto = bookingService.answerOnBooking(booking.getId(), true, 1L);
+
+        assertThat(responseBookingDto.getStatus(), is(BookingStatus.APPROVED));
+    }
+
+    @Test
+    @DisplayName("should list bookings with fixed number of statements")
+    @Order(26)
+    public void should_list_bookings_with_fixed_number_of_statements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            Item item = new Item(null, "item" + i, "description" + i, true, null, em.getReference(User.class, 1L));
+            em.persist(item);
+            em.persist(new Booking(null, start.plusDays(i), start.plusDays(i + 1), item,
+                    em.getReference(User.class, 2L), BookingStatus.WAITING));
+        }
+        em.flush();
+        em.clear();
+
+        long statements = statistics.getPrepareStatementCount();
+        List<ResponseBookingDto> ownerBookings = bookingService.getOwnerBookings("ALL", 1L, 0, 10);
+        long ownerStatements = statistics.getPrepareStatementCount() - statements;
+        statements = statistics.getPrepareStatementCount();
+        List<ResponseBookingDto> bookerBookings = bookingService.getBookings("ALL", 2L, null, null);
+        long bookerStatements = statistics.getPrepareStatementCount() - statements;
+
+        // проверка пользователя, выборка с item и booker и, возможно, подсчет страниц - не зависит от числа строк
+        assertThat(ownerBookings.size(), is(6));
+        assertThat(bookerBookings.size(), is(6));
+        assertThat(ownerStatements, lessThanOrEqualTo(3L));
+        assertThat(bookerStatements, lessThanOrEqualTo(3L));
+    }
 }
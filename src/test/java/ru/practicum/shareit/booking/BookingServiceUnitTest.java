@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingAnswerDto;
+import ru.practicum.shareit.booking.dto.BookingAnswerResultDto;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.dto.ResponseBookingDto;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.user.UserLookup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Booking service unit test")
+public class BookingServiceUnitTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private UserLookup userLookup;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @InjectMocks
+    private BookingService bookingService;
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+    private final LocalDateTime end = start.plusDays(1);
+
+    @Test
+    @DisplayName("should release interval of booking answered concurrently in batch")
+    public void should_release_interval_of_booking_answered_concurrently_in_batch() {
+        BookingView waitingBooking = bookingView(BookingStatus.WAITING);
+        when(waitingBooking.getItemOwnerId()).thenReturn(1L);
+        BookingView rejectedBooking = bookingView(BookingStatus.REJECTED);
+        when(bookingRepository.findViewsByIdIn(anyList()))
+                .thenReturn(List.of(waitingBooking), List.of(rejectedBooking));
+        when(bookingIntervalIndex.tryReserve(1L, start, end))
+                .thenReturn(true);
+        when(bookingRepository.updateStatusesIfOwner(anyList(), anyLong(), any(), eq(BookingStatus.APPROVED)))
+                .thenReturn(0);
+
+        List<BookingAnswerResultDto> results = bookingService.answerOnBookings(
+                List.of(new BookingAnswerDto(1L, true)), 1L);
+
+        assertThat(results.get(0).getStatus(), is(BookingStatus.REJECTED));
+        assertThat(results.get(0).getError(), is(notNullValue()));
+        verify(bookingIntervalIndex).release(1L, start, end);
+    }
+
+    @Test
+    @DisplayName("should read booking once when answering on booking")
+    public void should_read_booking_once_when_answering_on_booking() {
+        BookingView waitingBooking = bookingView(BookingStatus.WAITING);
+        when(waitingBooking.getItemOwnerId()).thenReturn(1L);
+        when(bookingRepository.findViewById(1L))
+                .thenReturn(Optional.of(waitingBooking));
+        when(bookingIntervalIndex.tryReserve(1L, start, end))
+                .thenReturn(true);
+        when(bookingRepository.updateStatusIfOwner(1L, 1L, BookingStatus.WAITING, BookingStatus.APPROVED))
+                .thenReturn(1);
+
+        ResponseBookingDto booking = bookingService.answerOnBooking(1L, true, 1L);
+
+        assertThat(booking.getStatus(), is(BookingStatus.APPROVED));
+        verify(bookingRepository, times(1)).findViewById(1L);
+    }
+
+    private BookingView bookingView(BookingStatus status) {
+        BookingView bookingView = mock(BookingView.class);
+        when(bookingView.getId()).thenReturn(1L);
+        when(bookingView.getItemId()).thenReturn(1L);
+        when(bookingView.getBookingStart()).thenReturn(start);
+        when(bookingView.getBookingEnd()).thenReturn(end);
+        when(bookingView.getStatus()).thenReturn(status);
+        return bookingView;
+    }
+}
@@ -2,10 +2,12 @@ package ru.practicum.shareit.booking;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingAnswerDto;
 import ru.practicum.shareit.booking.dto.RequestBookingDto;
 import ru.practicum.shareit.exception.ValidationException;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -47,4 +49,16 @@ public class BookingValidatorTest {
                 LocalDateTime.now().minusDays(1));
         assertThrows(ValidationException.class, () -> BookingValidator.checkNecessaryFields(invalidRequestBookingDto));
     }
+
+    @Test
+    @DisplayName("should not validate answers due to empty or duplicated ids")
+    public void should_not_validate_answers_due_to_empty_or_duplicated_ids() {
+        assertThrows(ValidationException.class, () -> BookingValidator.checkAnswers(List.of()));
+        assertThrows(ValidationException.class, () -> BookingValidator.checkAnswers(
+                List.of(new BookingAnswerDto(null, true))));
+        assertThrows(ValidationException.class, () -> BookingValidator.checkAnswers(
+                List.of(new BookingAnswerDto(1L, null))));
+        assertThrows(ValidationException.class, () -> BookingValidator.checkAnswers(
+                List.of(new BookingAnswerDto(1L, true), new BookingAnswerDto(1L, false))));
+    }
 }
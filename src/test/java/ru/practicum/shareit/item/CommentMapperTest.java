@@ -3,12 +3,15 @@ package ru.practicum.shareit.item;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -42,4 +45,50 @@ public class CommentMapperTest {
         assertThat(comment.getCreated(), is(commentDto.getCreated()));
         assertThat(comment.getAuthor().getName(), is(commentDto.getAuthorName()));
     }
+
+    @Test
+    @DisplayName("should group CommentViews by item id")
+    public void should_group_CommentViews_by_item_id() {
+        LocalDateTime created = LocalDateTime.now();
+        List<CommentView> comments = List.of(view(1L, 1L, "first", created), view(2L, 2L, "second", created),
+                view(1L, 3L, "third", created));
+
+        Map<Long, List<CommentDto>> commentsByItemId = CommentMapper.toCommentDtosByItemId(comments);
+
+        assertThat(commentsByItemId.size(), is(2));
+        assertThat(commentsByItemId.get(1L).size(), is(2));
+        assertThat(commentsByItemId.get(1L).get(0).getText(), is("first"));
+        assertThat(commentsByItemId.get(1L).get(1).getText(), is("third"));
+        assertThat(commentsByItemId.get(1L).get(1).getAuthorName(), is("author"));
+        assertThat(commentsByItemId.get(2L).get(0).getId(), is(2L));
+    }
+
+    private static CommentView view(Long itemId, Long id, String text, LocalDateTime created) {
+        return new CommentView() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getText() {
+                return text;
+            }
+
+            @Override
+            public String getAuthorName() {
+                return "author";
+            }
+
+            @Override
+            public LocalDateTime getCreated() {
+                return created;
+            }
+        };
+    }
 }
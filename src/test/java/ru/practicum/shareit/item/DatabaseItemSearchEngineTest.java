@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Transactional
+@SpringBootTest(properties = "shareit.search.mode=database")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DisplayName("Database item search engine test")
+public class DatabaseItemSearchEngineTest {
+
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+
+    @Test
+    @DisplayName("should use database search engine")
+    public void should_use_database_search_engine() {
+        assertThat(itemSearchEngine, instanceOf(DatabaseItemSearchEngine.class));
+    }
+
+    @Test
+    @DisplayName("should search only available items ignoring case")
+    public void should_search_only_available_items_ignoring_case() {
+        List<Item> items = itemSearchEngine.search("NAME", Pageable.unpaged());
+
+        assertThat(items.size(), is(1));
+        assertThat(items.get(0).getId(), is(1L));
+    }
+
+    @Test
+    @DisplayName("should paginate after filtering")
+    public void should_paginate_after_filtering() {
+        for (int i = 0; i < 3; i++)
+            itemRepository.save(new Item(null, "Дрель " + i, "description", true, null,
+                    userRepository.getReferenceById(2L)));
+        itemRepository.save(new Item(null, "Дрель", "description", false, null,
+                userRepository.getReferenceById(2L)));
+
+        List<String> firstPage = names(itemSearchEngine.search("дрель", PageRequest.of(0, 2)));
+        List<String> secondPage = names(itemSearchEngine.search("дрель", PageRequest.of(1, 2)));
+
+        assertThat(firstPage, contains("Дрель 0", "Дрель 1"));
+        assertThat(secondPage, contains("Дрель 2"));
+    }
+
+    @Test
+    @DisplayName("should treat like wildcards literally")
+    public void should_treat_like_wildcards_literally() {
+        itemRepository.save(new Item(null, "Скидка 50%", "description", true, null,
+                userRepository.getReferenceById(2L)));
+
+        assertThat(itemSearchEngine.search("%", Pageable.unpaged()).size(), is(1));
+        assertThat(itemSearchEngine.search("_", Pageable.unpaged()), is(empty()));
+    }
+
+    private static List<String> names(List<Item> items) {
+        return items.stream()
+                .map(Item::getName)
+                .collect(Collectors.toList());
+    }
+}
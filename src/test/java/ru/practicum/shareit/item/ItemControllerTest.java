@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.HeaderNames;
@@ -13,6 +15,7 @@ import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.UserHaveNotRentedItemException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.UserService;
 
 import java.nio.charset.StandardCharsets;
@@ -43,20 +46,21 @@ public class ItemControllerTest {
     private ObjectMapper mapper;
 
     private final ItemDto itemDto = new ItemDto(1L, "name", "description",
-            true, 1L, Collections.emptyList(), null, null);
+            true, 1L, Collections.emptyList(), null, null, null);
     private final CommentDto commentDto = new CommentDto(1L, "text", "name", LocalDateTime.now());
 
     @Test
     @DisplayName("should return all user items")
     public void should_return_all_user_items() throws Exception {
         when(itemService.getUserItems(anyLong(), anyInt(), anyInt()))
-                .thenReturn(List.of(itemDto, itemDto));
+                .thenReturn(new SliceImpl<>(List.of(itemDto, itemDto), PageRequest.of(0, 2), false));
 
         List<ItemDto> expectedResult = List.of(itemDto, itemDto);
 
         mockMvc.perform(get("/items?from=0&size=2")
                         .header(HeaderNames.USER_ID_HEADER, 1L))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HeaderNames.HAS_NEXT_HEADER, "false"))
                 .andExpect(content().json(mapper.writeValueAsString(expectedResult)));
 
         verify(itemService, times(1))
@@ -201,4 +205,18 @@ public class ItemControllerTest {
                         .header(HeaderNames.USER_ID_HEADER, 1L))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("should return item comments with next cursor header")
+    public void should_return_item_comments_with_next_cursor_header() throws Exception {
+        when(itemService.getItemCommentsAfterCursor(anyLong(), any(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(commentDto), "next"));
+
+        mockMvc.perform(get("/items/1/comments?size=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HeaderNames.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].text", is(commentDto.getText())));
+        verify(itemService, times(1)).getItemCommentsAfterCursor(1L, null, 1);
+    }
 }
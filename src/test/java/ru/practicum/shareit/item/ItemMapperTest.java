@@ -2,10 +2,10 @@ package ru.practicum.shareit.item;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoForRequest;
 import ru.practicum.shareit.item.mapper.ItemMapper;
-import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -23,9 +23,9 @@ public class ItemMapperTest {
     @DisplayName("should map Item to ItemDto without bookings")
     public void  should_map_Item_to_ItemDto_without_bookings() {
         Item item = new Item(1L, "name", "description", true, 1L, null);
-        List<Comment> comments = Collections.emptyList();
+        List<CommentDto> comments = Collections.emptyList();
 
-        ItemDto itemDto = ItemMapper.toItemWithoutBookingsDto(item, comments);
+        ItemDto itemDto = ItemMapper.toItemWithoutBookingsDto(item, comments, 0L);
 
         assertThat(itemDto.getId(), is(item.getId()));
         assertThat(itemDto.getName(), is(item.getName()));
@@ -39,9 +39,9 @@ public class ItemMapperTest {
     @DisplayName("should map Item to ItemDto with bookings")
     public void should_map_Item_to_ItemDto_with_bookings() {
         Item item = new Item(1L, "name", "description", true, 1L, null);
-        List<Comment> comments = Collections.emptyList();
+        List<CommentDto> comments = Collections.emptyList();
 
-        ItemDto itemDto = ItemMapper.toItemWithBookingsDto(item, comments, null, null);
+        ItemDto itemDto = ItemMapper.toItemWithBookingsDto(item, comments, 0L, null, null);
 
         assertThat(itemDto.getId(), is(item.getId()));
         assertThat(itemDto.getName(), is(item.getName()));
@@ -49,6 +49,7 @@ public class ItemMapperTest {
         assertThat(itemDto.getAvailable(), is(item.getAvailable()));
         assertThat(itemDto.getRequestId(), is(item.getRequestId()));
         assertThat(itemDto.getComments(), is(comments));
+        assertThat(itemDto.getCommentsCount(), is(0L));
         assertNull(itemDto.getLastBooking());
         assertNull(itemDto.getNextBooking());
     }
@@ -57,9 +58,9 @@ public class ItemMapperTest {
     @DisplayName("should map Item to ItemForRequest")
     public void should_map_item_to_ItemForRequest() {
         Item item = new Item(1L, "name", "description", true, 1L, null);
-        List<Comment> comments = Collections.emptyList();
+        List<CommentDto> comments = Collections.emptyList();
 
-        ItemDto itemDto = ItemMapper.toItemWithBookingsDto(item, comments, null, null);
+        ItemDto itemDto = ItemMapper.toItemWithBookingsDto(item, comments, 0L, null, null);
 
         assertThat(itemDto.getId(), is(item.getId()));
         assertThat(itemDto.getName(), is(item.getName()));
@@ -85,7 +86,7 @@ public class ItemMapperTest {
     @Test
     @DisplayName("should map ItemDto to Item")
     public void should_map_ItemDto_to_Item() {
-        ItemDto itemDto = new ItemDto(1L, "name", "description", true, null, null, null, null);
+        ItemDto itemDto = new ItemDto(1L, "name", "description", true, null, null, null, null, null);
         Item item = ItemMapper.toItem(itemDto, null, new User(1L, "name", "email@email"));
 
         assertThat(item.getId(), is(itemDto.getId()));
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@DisplayName("Item search cache test")
+public class ItemSearchCacheTest {
+
+    private ItemSearchCache itemSearchCache;
+    private AtomicInteger searches;
+
+    @BeforeEach
+    public void setUp() {
+        itemSearchCache = new ItemSearchCache(100, Duration.ofMinutes(10));
+        searches = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("should serve repeated query from cache")
+    public void should_serve_repeated_query_from_cache() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        itemSearchCache.bindTo(registry);
+
+        search("Дрель", 0, 10);
+        search("дрель", 0, 10);
+        search("дрель", 10, 10);
+
+        assertThat(searches.get(), is(2));
+        assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count(), is(1.0));
+        assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count(), is(2.0));
+    }
+
+    @Test
+    @DisplayName("should invalidate only entries affected by item change")
+    public void should_invalidate_only_entries_affected_by_item_change() {
+        search("дрель", 0, 10);
+        search("отвертка", 0, 10);
+
+        itemSearchCache.onItemChanged(ItemChangedEvent.of(null,
+                new Item(2L, "Дрель ударная", "", true, null, null)));
+        search("дрель", 0, 10);
+        search("отвертка", 0, 10);
+
+        assertThat(searches.get(), is(3));
+    }
+
+    @Test
+    @DisplayName("should invalidate entry containing changed item")
+    public void should_invalidate_entry_containing_changed_item() {
+        search("дрель", 0, 10);
+
+        Item item = new Item(1L, "Дрель", "", true, null, null);
+        itemSearchCache.onItemChanged(ItemChangedEvent.of(item, new Item(1L, "Дрель", "", false, null, null)));
+        search("дрель", 0, 10);
+
+        assertThat(searches.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("should keep entries when searchable fields are unchanged")
+    public void should_keep_entries_when_searchable_fields_are_unchanged() {
+        search("дрель", 0, 10);
+
+        Item item = new Item(1L, "Дрель", "", true, null, null);
+        itemSearchCache.onItemChanged(ItemChangedEvent.of(item, item));
+        search("дрель", 0, 10);
+
+        assertThat(searches.get(), is(1));
+    }
+
+    @Test
+    @DisplayName("should invalidate entry containing commented item")
+    public void should_invalidate_entry_containing_commented_item() {
+        search("дрель", 0, 10);
+        search("отвертка", 0, 10);
+
+        itemSearchCache.onCommentCreated(new CommentCreatedEvent(1L));
+        search("дрель", 0, 10);
+        search("отвертка", 0, 10);
+
+        assertThat(searches.get(), is(3));
+    }
+
+    // поиск "дрель" находит вещь с id=1, остальные запросы ничего не находят
+    private List<ItemDto> search(String text, Integer from, Integer size) {
+        return itemSearchCache.get(text, from, size, () -> {
+            searches.incrementAndGet();
+            if (!text.equalsIgnoreCase("дрель"))
+                return List.of();
+            return List.of(new ItemDto(1L, "Дрель", "", true, null, List.of(), null, null, null));
+        });
+    }
+}
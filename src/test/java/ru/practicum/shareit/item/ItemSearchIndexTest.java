@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Item search index test")
+public class ItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+    @InjectMocks
+    private ItemSearchIndex itemSearchIndex;
+
+    @Test
+    @DisplayName("should find substring in name and description ignoring case")
+    public void should_find_substring_in_name_and_description_ignoring_case() {
+        when(itemRepository.findAll()).thenReturn(List.of(
+                new Item(1L, "Дрель", "Аккумуляторная дрель", true, null, null),
+                new Item(2L, "Отвертка", "Крестовая", true, null, null),
+                new Item(3L, "Шуруповерт", "Почти как ДРЕЛЬ", true, null, null)));
+        itemSearchIndex.rebuild();
+
+        assertThat(itemSearchIndex.searchIds("дРеЛь", 0, 10), contains(1L, 3L));
+        assertThat(itemSearchIndex.searchIds("вертк", 0, 10), contains(2L));
+        assertThat(itemSearchIndex.searchIds("рубанок", 0, 10), is(empty()));
+    }
+
+    @Test
+    @DisplayName("should rank name matches above description matches")
+    public void should_rank_name_matches_above_description_matches() {
+        when(itemRepository.findAll()).thenReturn(List.of(
+                new Item(1L, "Молоток", "Для дрели не подходит", true, null, null),
+                new Item(2L, "Дрель ударная", "Мощная", true, null, null)));
+        itemSearchIndex.rebuild();
+
+        assertThat(itemSearchIndex.searchIds("дрел", 0, 10), contains(2L, 1L));
+    }
+
+    @Test
+    @DisplayName("should skip unavailable items and paginate after filtering")
+    public void should_skip_unavailable_items_and_paginate_after_filtering() {
+        when(itemRepository.findAll()).thenReturn(List.of(
+                new Item(1L, "Пила", "Пила", true, null, null),
+                new Item(2L, "Пила", "Пила", false, null, null),
+                new Item(3L, "Пила", "Пила", true, null, null),
+                new Item(4L, "Пила", "Пила", true, null, null)));
+        itemSearchIndex.rebuild();
+
+        assertThat(itemSearchIndex.searchIds("пи", 0, 2), contains(1L, 3L));
+        assertThat(itemSearchIndex.searchIds("пила", 2, 2), contains(4L));
+    }
+
+    @Test
+    @DisplayName("should apply item changes")
+    public void should_apply_item_changes() {
+        Item item = new Item(1L, "Дрель", "Ударная", true, null, null);
+        when(itemRepository.findAll()).thenReturn(List.of(item));
+        itemSearchIndex.rebuild();
+
+        itemSearchIndex.onItemChanged(ItemChangedEvent.of(item, new Item(1L, "Перфоратор", "Ударный", true, null, null)));
+        assertThat(itemSearchIndex.searchIds("дрель", 0, 10), is(empty()));
+        assertThat(itemSearchIndex.searchIds("перфо", 0, 10), contains(1L));
+
+        itemSearchIndex.onItemChanged(ItemChangedEvent.of(null, new Item(2L, "Дрель", "", true, null, null)));
+        assertThat(itemSearchIndex.searchIds("дрель", 0, 10), contains(2L));
+
+        itemSearchIndex.onItemChanged(ItemChangedEvent.of(item, new Item(1L, "Перфоратор", "Ударный", false, null, null)));
+        assertThat(itemSearchIndex.searchIds("перфо", 0, 10), is(empty()));
+    }
+}
@@ -5,21 +5,30 @@ import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.NoAccessException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.exception.UserHaveNotRentedItemException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
@@ -39,7 +48,7 @@ public class ItemServiceTest {
     @Order(1)
     @DisplayName("should return user items")
     public void should_return_user_items() {
-        List<ItemDto> itemsDto = itemService.getUserItems(1L, 0, 2);
+        List<ItemDto> itemsDto = itemService.getUserItems(1L, 0, 2).getContent();
 
         assertThat(itemsDto.get(0).getId(), is(1L));
         assertThat(itemsDto.get(0).getName(), is("name1"));
@@ -56,7 +65,7 @@ public class ItemServiceTest {
     @Order(2)
     @DisplayName("should return empty item list")
     public void should_return_empty_item_list() {
-        List<ItemDto> itemsDto = itemService.getUserItems(2L, 0, 10);
+        List<ItemDto> itemsDto = itemService.getUserItems(2L, 0, 10).getContent();
 
         assertThat(itemsDto.size(), is(0));
     }
@@ -97,7 +106,7 @@ public class ItemServiceTest {
     @DisplayName("should not create item due to non-existent user")
     public void should_not_create_item_due_to_non_existent_user() {
         ItemDto itemDto = new ItemDto(null, "name3", "description3", true, null,
-                null, null, null);
+                null, null, null, null);
         assertThrows(ObjectNotFoundException.class, () -> itemService.createItem(itemDto, -1L));
     }
 
@@ -116,7 +125,7 @@ public class ItemServiceTest {
     @DisplayName("should update item")
     public void should_update_item() {
         ItemDto itemDto = new ItemDto(1L, "replaced name", null,
-                null, null, null, null, null);
+                null, null, null, null, null, null);
         itemService.updateItem(itemDto, 1L);
         TypedQuery<Item> query = em.createQuery("select i from Item as i where id=:id", Item.class);
         Item item = query.setParameter("id", 1L).getSingleResult();
@@ -129,7 +138,7 @@ public class ItemServiceTest {
     @DisplayName("should not update item due to non-existent user")
     public void should_not_update_item_due_to_non_existent_user() {
         ItemDto itemDto = new ItemDto(1L, "replaced name", null,
-                null, null, null, null, null);
+                null, null, null, null, null, null);
         assertThrows(ObjectNotFoundException.class, () -> itemService.updateItem(itemDto, -1L));
     }
 
@@ -138,7 +147,7 @@ public class ItemServiceTest {
     @DisplayName("should not update non-existent item")
     public void should_not_update_non_existent_item() {
         ItemDto itemDto = new ItemDto(-1L, "replaced name", null,
-                null, null, null, null, null);
+                null, null, null, null, null, null);
         assertThrows(ObjectNotFoundException.class, () -> itemService.updateItem(itemDto, 1L));
     }
 
@@ -158,8 +167,116 @@ public class ItemServiceTest {
     @DisplayName("should not update item due to not access")
     public void should_not_update_item_due_to_not_access() {
         ItemDto itemDto = new ItemDto(1L, "replaced name", null,
-                null, null, null, null, null);
+                null, null, null, null, null, null);
         assertThrows(NoAccessException.class, () -> itemService.updateItem(itemDto, 3L));
     }
-}
 
+    @Test
+    @Order(14)
+    @DisplayName("should return last and next approved bookings for every user item")
+    public void should_return_last_and_next_approved_bookings_for_every_user_item() {
+        Item item = itemRepository.getReferenceById(1L);
+        User booker = userRepository.getReferenceById(2L);
+        LocalDateTime now = LocalDateTime.now();
+        Booking olderBooking = new Booking(null, now.minusDays(10), now.minusDays(9), item, booker,
+                BookingStatus.APPROVED);
+        Booking lastBooking = new Booking(null, now.minusDays(5), now.minusDays(4), item, booker,
+                BookingStatus.APPROVED);
+        Booking nextBooking = new Booking(null, now.plusDays(2), now.plusDays(3), item, booker,
+                BookingStatus.APPROVED);
+        Booking laterBooking = new Booking(null, now.plusDays(6), now.plusDays(7), item, booker,
+                BookingStatus.APPROVED);
+        Booking rejectedBooking = new Booking(null, now.plusDays(1), now.plusDays(2), item, booker,
+                BookingStatus.REJECTED);
+        List.of(olderBooking, lastBooking, nextBooking, laterBooking, rejectedBooking).forEach(em::persist);
+        em.flush();
+
+        List<ItemDto> itemsDto = itemService.getUserItems(1L, 0, 2).getContent();
+
+        assertThat(itemsDto.get(0).getLastBooking().getId(), is(lastBooking.getId()));
+        assertThat(itemsDto.get(0).getNextBooking().getId(), is(nextBooking.getId()));
+        assertThat(itemsDto.get(1).getLastBooking(), is(nullValue()));
+        assertThat(itemsDto.get(1).getNextBooking(), is(nullValue()));
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("should return comments grouped by item")
+    public void should_return_comments_grouped_by_item() {
+        User author = userRepository.getReferenceById(2L);
+        LocalDateTime now = LocalDateTime.now();
+        em.persist(new Comment(null, "first", author, itemRepository.getReferenceById(1L), now));
+        em.persist(new Comment(null, "second", author, itemRepository.getReferenceById(2L), now));
+        em.persist(new Comment(null, "third", author, itemRepository.getReferenceById(1L), now));
+        em.flush();
+
+        List<ItemDto> itemsDto = itemService.getUserItems(1L, 0, 2).getContent();
+
+        assertThat(itemsDto.get(0).getComments().size(), is(2));
+        assertThat(itemsDto.get(0).getComments().get(0).getText(), is("first"));
+        assertThat(itemsDto.get(0).getComments().get(0).getAuthorName(), is("name2"));
+        assertThat(itemsDto.get(0).getComments().get(1).getText(), is("third"));
+        assertThat(itemsDto.get(0).getCommentsCount(), is(2L));
+        assertThat(itemsDto.get(1).getComments().size(), is(1));
+        assertThat(itemsDto.get(1).getComments().get(0).getText(), is("second"));
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("should embed only latest comments with total count")
+    public void should_embed_only_latest_comments_with_total_count() {
+        persistComments(12);
+
+        ItemDto itemDto = itemService.getItem(1L, 2L);
+
+        assertThat(itemDto.getCommentsCount(), is(12L));
+        assertThat(itemDto.getComments().size(), is(10));
+        assertThat(itemDto.getComments().get(0).getText(), is("comment 2"));
+        assertThat(itemDto.getComments().get(9).getText(), is("comment 11"));
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("should page through item comments by cursor")
+    public void should_page_through_item_comments_by_cursor() {
+        persistComments(5);
+
+        CursorPage<CommentDto> firstPage = itemService.getItemCommentsAfterCursor(1L, null, 2);
+        CursorPage<CommentDto> secondPage = itemService.getItemCommentsAfterCursor(1L, firstPage.getNextCursor(), 2);
+        CursorPage<CommentDto> lastPage = itemService.getItemCommentsAfterCursor(1L, secondPage.getNextCursor(), 2);
+
+        assertThat(firstPage.getContent().get(0).getText(), is("comment 4"));
+        assertThat(firstPage.getContent().get(1).getText(), is("comment 3"));
+        assertThat(secondPage.getContent().get(0).getText(), is("comment 2"));
+        assertThat(lastPage.getContent().size(), is(1));
+        assertThat(lastPage.getContent().get(0).getText(), is("comment 0"));
+        assertThat(lastPage.getNextCursor(), is(nullValue()));
+        assertThrows(ObjectNotFoundException.class, () -> itemService.getItemCommentsAfterCursor(-1L, null, 2));
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("should create item for request without touching request items")
+    public void should_create_item_for_request() {
+        Request request = em.merge(new Request(null, "description", userRepository.getReferenceById(2L),
+                Collections.emptyList(), LocalDateTime.now()));
+        ItemDto itemDto = new ItemDto(null, "name", "description", true, request.getId(), null, null, null, null);
+
+        ItemDto createdItem = itemService.createItem(itemDto, 1L);
+
+        assertThat(createdItem.getRequestId(), is(request.getId()));
+        assertThat(itemRepository.findById(createdItem.getId()).get().getRequestId(), is(request.getId()));
+        itemDto.setRequestId(-1L);
+        assertThrows(ObjectNotFoundException.class, () -> itemService.createItem(itemDto, 1L));
+    }
+
+    // отзывы "comment 0".."comment {count - 1}" о вещи с id=1, каждый следующий создан позже предыдущего
+    private void persistComments(int count) {
+        User author = userRepository.getReferenceById(2L);
+        Item item = itemRepository.getReferenceById(1L);
+        LocalDateTime created = LocalDateTime.now().minusDays(count);
+        for (int i = 0; i < count; i++)
+            em.persist(new Comment(null, "comment " + i, author, item, created.plusDays(i)));
+        em.flush();
+    }
+}
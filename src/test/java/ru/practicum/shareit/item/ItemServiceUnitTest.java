@@ -1,20 +1,21 @@
 package ru.practicum.shareit.item;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.item.dao.CommentRepository;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dao.RequestRepository;
-import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.UserLookup;
 import ru.practicum.shareit.user.model.User;
 
-import java.util.Optional;
-
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,21 +29,36 @@ public class ItemServiceUnitTest {
     @Mock
     private ItemRepository itemRepository;
     @Mock
-    private UserRepository userRepository;
+    private UserLookup userLookup;
     @Mock
     private RequestRepository requestRepository;
-    @InjectMocks
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private CommentRepository commentRepository;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private ItemSearchCache itemSearchCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     private ItemService itemService;
 
+    @BeforeEach
+    public void setUp() {
+        itemService = new ItemService(itemRepository, userLookup, bookingRepository, commentRepository,
+                requestRepository, itemSearchEngine, itemSearchCache, eventPublisher, 10);
+    }
+
     @Test
     @DisplayName("should create item")
     public void should_create_item() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(new User(1L, "name", "email")));
+        when(userLookup.getReference(anyLong()))
+                .thenReturn(new User(1L, "name", "email"));
         when(itemRepository.save(any()))
                 .thenReturn(new Item(1L, "name", "description", true, null, new User(1L, "name", "email")));
 
-        ItemDto itemDto = new ItemDto(null, "name", "description", true, null, null, null, null);
+        ItemDto itemDto = new ItemDto(null, "name", "description", true, null, null, null, null, null);
 
         ItemDto createdItemDto = itemService.createItem(itemDto, 1L);
 
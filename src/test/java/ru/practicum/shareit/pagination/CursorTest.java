@@ -0,0 +1,40 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Cursor test")
+public class CursorTest {
+
+    @Test
+    @DisplayName("should decode encoded cursor")
+    public void should_decode_encoded_cursor() {
+        LocalDateTime timestamp = LocalDateTime.of(2023, 10, 1, 12, 30, 15, 123000);
+
+        Cursor cursor = Cursor.decode(Cursor.encode(timestamp, 42L));
+
+        assertThat(cursor.getTimestamp(), is(timestamp));
+        assertThat(cursor.getId(), is(42L));
+    }
+
+    @Test
+    @DisplayName("should return first page cursor for empty string")
+    public void should_return_first_page_cursor_for_empty_string() {
+        assertThat(Cursor.decode(""), is(Cursor.FIRST));
+        assertThat(Cursor.decode(null), is(Cursor.FIRST));
+    }
+
+    @Test
+    @DisplayName("should throw exception due to invalid cursor")
+    public void should_throw_exception_due_to_invalid_cursor() {
+        assertThrows(ValidationException.class, () -> Cursor.decode("not a cursor"));
+        assertThrows(ValidationException.class, () -> Cursor.decode("MjAyMy0xMC0wMQ"));
+    }
+}
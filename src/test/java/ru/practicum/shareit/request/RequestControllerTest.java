@@ -5,10 +5,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.HeaderNames;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.RequestDto;
 
 import java.nio.charset.StandardCharsets;
@@ -18,9 +21,12 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -121,12 +127,13 @@ public class RequestControllerTest {
     @Test
     public void receiveAllRequests() throws Exception {
         when(requestService.getAllRequests(anyLong(), anyInt(), anyInt()))
-                .thenReturn(List.of(fullRequestDto, fullRequestDto));
+                .thenReturn(new SliceImpl<>(List.of(fullRequestDto, fullRequestDto), PageRequest.of(0, 2), true));
 
         mvc.perform(get("/requests/all?from=0&size=2")
                 .accept(MediaType.APPLICATION_JSON)
                 .header(HeaderNames.USER_ID_HEADER, 1))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HeaderNames.HAS_NEXT_HEADER, "true"))
                 .andExpect(jsonPath("$[0].id", is(fullRequestDto.getId()), Long.class))
                 .andExpect(jsonPath("$[0].description", is(fullRequestDto.getDescription())))
                 .andExpect(jsonPath("$[0].items", is(fullRequestDto.getItems())))
@@ -135,6 +142,20 @@ public class RequestControllerTest {
                 .andExpect(jsonPath("$[1].items", is(fullRequestDto.getItems())));
     }
 
+    @Test
+    public void receiveAllRequestsAfterCursor() throws Exception {
+        when(requestService.getAllRequestsAfterCursor(anyLong(), anyString(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(fullRequestDto), "next"));
+
+        mvc.perform(get("/requests/all?cursor=&size=1")
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HeaderNames.USER_ID_HEADER, 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HeaderNames.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].id", is(fullRequestDto.getId()), Long.class));
+        verify(requestService, never()).getAllRequests(anyLong(), anyInt(), anyInt());
+    }
+
     @Test
     public void receiveFromUnexcitingUser() throws Exception {
         when(requestService.getRequestById(anyLong(), anyLong()))
@@ -19,7 +19,7 @@ public class RequestMapperTest {
 
     @Test
     public void maptoRequestDtoWithoutItems() {
-        RequestDto mappedRequestDto = RequestMapper.toRequestDto(request);
+        RequestDto mappedRequestDto = RequestMapper.toRequestDto(request, Collections.emptyList());
 
         assertThat(mappedRequestDto.getId(), equalTo(request.getId()));
         assertThat(mappedRequestDto.getDescription(), equalTo(request.getDescription()));
@@ -5,9 +5,15 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.request.dao.RequestRepository;
 import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
@@ -17,6 +23,7 @@ import java.util.List;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
 @Transactional
 @SpringBootTest(
@@ -26,6 +33,8 @@ public class RequestServiceTest {
 
     private final RequestService requestService;
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final RequestRepository requestRepository;
 
     @Test
     public void createRequest() {
@@ -99,11 +108,60 @@ public class RequestServiceTest {
         RequestDto requestDto = new RequestDto(null, "description1", LocalDateTime.now(), null);
         RequestDto createdRequest = requestService.createItemRequest(requestDto, user1.getId());
 
-        List<RequestDto> allRequestsForUser1 = requestService.getAllRequests(user1.getId(), 0, 1);
+        List<RequestDto> allRequestsForUser1 = requestService.getAllRequests(user1.getId(), 0, 1).getContent();
         assertThat(allRequestsForUser1.size(), is(0));
 
-        List<RequestDto> allRequestsForUser2 = requestService.getAllRequests(user2.getId(), 0, 1);
-        assertThat(allRequestsForUser2.get(0).getDescription(), equalTo(createdRequest.getDescription()));
+        Slice<RequestDto> allRequestsForUser2 = requestService.getAllRequests(user2.getId(), 0, 1);
+        assertThat(allRequestsForUser2.getContent().get(0).getDescription(),
+                equalTo(createdRequest.getDescription()));
+        assertThat(allRequestsForUser2.hasNext(), is(false));
+
+        requestService.createItemRequest(new RequestDto(null, "description2", LocalDateTime.now(), null),
+                user1.getId());
+        assertThat(requestService.getAllRequests(user2.getId(), 0, 1).hasNext(), is(true));
+    }
+
+    @Test
+    public void getAllRequestsAfterCursor() {
+        // createItemRequest проставляет текущее время, поэтому запросы с одинаковым временем сохраняются напрямую,
+        // и порядок между ними определяет только id
+        LocalDateTime created = LocalDateTime.now().withNano(0);
+        User requestor = userRepository.findById(1L).get();
+        Request first = requestRepository.save(new Request(null, "description1", requestor, null, created));
+        Request second = requestRepository.save(new Request(null, "description2", requestor, null, created));
+        Request third = requestRepository.save(new Request(null, "description3", requestor, null, created));
+
+        CursorPage<RequestDto> firstPage = requestService.getAllRequestsAfterCursor(2L, "", 2);
+        CursorPage<RequestDto> secondPage = requestService.getAllRequestsAfterCursor(2L, firstPage.getNextCursor(), 2);
+
+        assertThat(firstPage.getContent().size(), is(2));
+        assertThat(firstPage.getContent().get(0).getId(), is(third.getId()));
+        assertThat(firstPage.getContent().get(1).getId(), is(second.getId()));
+        assertThat(secondPage.getContent().size(), is(1));
+        assertThat(secondPage.getContent().get(0).getId(), is(first.getId()));
+        assertThat(secondPage.getNextCursor(), is(nullValue()));
+        assertThat(requestService.getAllRequestsAfterCursor(1L, "", 2).getContent().size(), is(0));
+    }
+
+    @Test
+    public void getAllRequestsWithItems() {
+        RequestDto first = requestService.createItemRequest(new RequestDto(null, "description1", LocalDateTime.now(),
+                null), 1L);
+        RequestDto second = requestService.createItemRequest(new RequestDto(null, "description2", LocalDateTime.now(),
+                null), 1L);
+        User owner = userRepository.findById(3L).get();
+        Item item1 = itemRepository.save(new Item(null, "name1", "description1", true, first.getId(), owner));
+        Item item2 = itemRepository.save(new Item(null, "name2", "description2", true, first.getId(), owner));
+
+        List<RequestDto> requests = requestService.getAllRequests(2L, 0, 10).getContent();
+
+        assertThat(requests.get(0).getId(), is(second.getId()));
+        assertThat(requests.get(0).getItems().size(), is(0));
+        assertThat(requests.get(1).getId(), is(first.getId()));
+        assertThat(requests.get(1).getItems().size(), is(2));
+        assertThat(requests.get(1).getItems().get(0).getId(), is(item1.getId()));
+        assertThat(requests.get(1).getItems().get(1).getId(), is(item2.getId()));
+        assertThat(requests.get(1).getItems().get(1).getRequestId(), is(first.getId()));
     }
 
     @Test
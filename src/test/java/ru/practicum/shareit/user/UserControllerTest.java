@@ -7,12 +7,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.HeaderNames;
 import ru.practicum.shareit.exception.EmailAlreadyUsedException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
@@ -29,6 +35,9 @@ public class UserControllerTest {
     @MockBean
     UserService userService;
 
+    @MockBean
+    UserImportService userImportService;
+
     @Autowired
     MockMvc mockMvc;
 
@@ -53,6 +62,78 @@ public class UserControllerTest {
                 .getUsers();
     }
 
+    @Test
+    @DisplayName("should return users after id")
+    public void should_return_users_after_id() throws Exception {
+        when(userService.getUsersAfterId(anyLong(), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(userDto), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(get("/users")
+                        .param("afterId", "0")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HeaderNames.HAS_NEXT_HEADER, "true"))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(userDto))));
+
+        verify(userService, times(1))
+                .getUsersAfterId(0L, 1);
+        verify(userService, never())
+                .getUsers();
+    }
+
+    @Test
+    @DisplayName("should return users after id with default size")
+    public void should_return_users_after_id_with_default_size() throws Exception {
+        when(userService.getUsersAfterId(anyLong(), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(userDto), PageRequest.of(0, 20), false));
+
+        mockMvc.perform(get("/users")
+                        .param("afterId", "100"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HeaderNames.HAS_NEXT_HEADER, "false"));
+
+        verify(userService, times(1))
+                .getUsersAfterId(100L, 20);
+        verify(userService, never())
+                .getUsers();
+    }
+
+    @Test
+    @DisplayName("should stream users as NDJSON")
+    public void should_stream_users_as_ndjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write((mapper.writeValueAsString(userDto) + "\n").getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userService).exportUsers(any());
+
+        MvcResult result = mockMvc.perform(get("/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(mapper.writeValueAsString(userDto) + "\n"));
+    }
+
+    @Test
+    @DisplayName("should import users from CSV")
+    public void should_import_users_from_csv() throws Exception {
+        when(userImportService.importUsers(any(), eq(true)))
+                .thenReturn(List.of(new UserImportResultDto(1, UserImportStatus.CREATED, 1L, "gmail@email", null)));
+
+        mockMvc.perform(post("/users/bulk")
+                        .content("name,gmail@email")
+                        .contentType("text/csv"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].id", is(1L), Long.class));
+
+        verify(userImportService, times(1))
+                .importUsers(any(), eq(true));
+    }
+
     @Test
     @DisplayName("should return user by id=1")
     public void should_return_user_by_id_1() throws Exception {
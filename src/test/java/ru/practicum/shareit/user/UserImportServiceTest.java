@@ -0,0 +1,83 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+// без @Transactional: импорт сам открывает транзакцию на каждую порцию строк
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DisplayName("User import service test")
+public class UserImportServiceTest {
+
+    private final UserImportService userImportService;
+    private final UserRepository userRepository;
+
+    @AfterEach
+    public void deleteImportedUsers() {
+        userRepository.deleteAll(userRepository.findAll()
+                .stream()
+                .filter(user -> user.getId() > 3)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("should import users from NDJSON and report rejected rows")
+    public void should_import_users_from_ndjson() throws Exception {
+        String body = "{\"name\":\"new1\",\"email\":\"new1@email\"}\n" +
+                "{\"name\":\"new2\",\"email\":\"email1@email\"}\n" +
+                "not json\n" +
+                "\n" +
+                "{\"name\":\"new3\",\"email\":\"new1@email\"}\n" +
+                "{\"name\":\"\",\"email\":\"new4@email\"}\n";
+
+        List<UserImportResultDto> report = importUsers(body, false);
+
+        assertThat(report.size(), is(5));
+        assertThat(report.get(0).getStatus(), is(UserImportStatus.CREATED));
+        assertThat(userRepository.findById(report.get(0).getId()).get().getEmail(), is("new1@email"));
+        assertThat(report.get(1).getStatus(), is(UserImportStatus.REJECTED));
+        assertThat(report.get(2).getStatus(), is(UserImportStatus.REJECTED));
+        assertThat(report.get(3).getLine(), is(5));
+        assertThat(report.get(3).getStatus(), is(UserImportStatus.REJECTED));
+        assertThat(report.get(4).getStatus(), is(UserImportStatus.REJECTED));
+        assertThat(userRepository.count(), is(4L));
+    }
+
+    @Test
+    @DisplayName("should import users from CSV in several chunks")
+    public void should_import_users_from_csv_in_chunks() throws Exception {
+        int count = UserImportService.CHUNK_SIZE + 10;
+        String body = "name,email\n" + IntStream.range(0, count)
+                .mapToObj(i -> "user, " + i + ",user" + i + "@email")
+                .collect(Collectors.joining("\n"));
+
+        List<UserImportResultDto> report = importUsers(body, true);
+
+        assertThat(report.size(), is(count));
+        assertThat(report.stream().map(UserImportResultDto::getStatus).collect(Collectors.toSet()),
+                contains(UserImportStatus.CREATED));
+        assertThat(report.get(0).getLine(), is(2));
+        assertThat(userRepository.findById(report.get(count - 1).getId()).get().getName(),
+                is("user, " + (count - 1)));
+        assertThat(userRepository.count(), is(3L + count));
+    }
+
+    private List<UserImportResultDto> importUsers(String body, boolean csv) throws Exception {
+        return userImportService.importUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), csv);
+    }
+}
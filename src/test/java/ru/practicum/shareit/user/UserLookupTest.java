@@ -0,0 +1,74 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.user.dao.UserRepository;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User lookup test")
+public class UserLookupTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserLookup userLookup;
+
+    @BeforeEach
+    public void setUp() {
+        userLookup = new UserLookup(userRepository, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("should check existing user in database only once")
+    public void should_check_existing_user_in_database_only_once() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        userLookup.checkExists(1L);
+        userLookup.checkExists(1L);
+
+        verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    @DisplayName("should not cache non-existent user")
+    public void should_not_cache_non_existent_user() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ObjectNotFoundException.class, () -> userLookup.checkExists(1L));
+        assertThrows(ObjectNotFoundException.class, () -> userLookup.checkExists(1L));
+
+        verify(userRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    @DisplayName("should check user in database again after eviction")
+    public void should_check_user_in_database_again_after_eviction() {
+        when(userRepository.existsById(1L)).thenReturn(true, false);
+
+        userLookup.checkExists(1L);
+        userLookup.evict(1L);
+
+        assertThrows(ObjectNotFoundException.class, () -> userLookup.checkExists(1L));
+    }
+
+    @Test
+    @DisplayName("should return reference without loading user")
+    public void should_return_reference_without_loading_user() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        userLookup.getReference(1L);
+
+        verify(userRepository, times(1)).getReferenceById(1L);
+        verify(userRepository, never()).findById(anyLong());
+    }
+}
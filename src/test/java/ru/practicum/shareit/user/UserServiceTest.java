@@ -1,18 +1,23 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.EmailAlreadyUsedException;
 import ru.practicum.shareit.exception.ObjectNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -29,6 +34,7 @@ public class UserServiceTest {
     private final EntityManager em;
     private final UserService userService;
     private final UserRepository userRepository;
+    private final ObjectMapper mapper;
 
 
     @Test
@@ -112,4 +118,34 @@ public class UserServiceTest {
     public void should_not_delete_user_that_does_not_exist() {
         assertThrows(ObjectNotFoundException.class, () -> userService.deleteUser(-1L));
     }
+
+    @Test
+    @Order(value = 9)
+    @DisplayName("should return users after id")
+    public void should_return_users_after_id() {
+        Slice<UserDto> firstPage = userService.getUsersAfterId(0L, 2);
+        Slice<UserDto> secondPage = userService.getUsersAfterId(firstPage.getContent().get(1).getId(), 2);
+
+        assertThat(firstPage.getContent().get(0).getId(), is(1L));
+        assertThat(firstPage.getContent().get(1).getId(), is(2L));
+        assertThat(firstPage.hasNext(), is(true));
+        assertThat(secondPage.getContent().size(), is(1));
+        assertThat(secondPage.getContent().get(0).getId(), is(3L));
+        assertThat(secondPage.hasNext(), is(false));
+        assertThrows(ValidationException.class, () -> userService.getUsersAfterId(0L, 0));
+    }
+
+    @Test
+    @Order(value = 10)
+    @DisplayName("should export all users as NDJSON")
+    public void should_export_all_users_as_ndjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userService.exportUsers(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines.length, is(3));
+        assertThat(mapper.readValue(lines[0], UserDto.class).getId(), is(1L));
+        assertThat(mapper.readValue(lines[2], UserDto.class).getEmail(), is("email3@email"));
+    }
 }
@@ -1,4 +1,4 @@
-DROP TABLE IF EXISTS requests, users, items, bookings, comments;
+-- схема, которую создавал schema.sql до перехода на миграции Flyway: id IDENTITY, без последовательностей и индексов
 
 CREATE TABLE IF NOT EXISTS users
 (
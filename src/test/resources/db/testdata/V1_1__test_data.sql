@@ -2,9 +2,12 @@ INSERT INTO USERS
 VALUES (1, 'name1', 'email1@email'),
        (2, 'name2', 'email2@email'),
        (3, 'name3', 'email3@email');
+ALTER SEQUENCE users_seq RESTART WITH 4;
 
 INSERT INTO ITEMS
 VALUES (1, 'name1', 'description1', TRUE, null, 1),
        (2, 'name2', 'description2', FALSE, null, 1);
+ALTER SEQUENCE items_seq RESTART WITH 3;
 INSERT INTO BOOKINGS
-VALUES (1, '2023-10-01', '2023-10-10', 1, 2, 'WAITING');
\ No newline at end of file
+VALUES (1, '2023-10-01', '2023-10-10', 1, 2, 'WAITING');
+ALTER SEQUENCE bookings_seq RESTART WITH 2;